@@ -1,7 +1,10 @@
 package com.darrenswhite.rs.ironquest;
 
+import org.apache.coyote.ProtocolHandler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -33,4 +36,17 @@ public class Application {
       }
     };
   }
+
+  /**
+   * Configure Tomcat to handle each request on a new virtual thread, if
+   * <tt>executor.virtual-threads</tt> is enabled.
+   *
+   * @return the protocol handler customizer
+   * @see VirtualThreads#newExecutor()
+   */
+  @Bean
+  @ConditionalOnProperty("executor.virtual-threads")
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsCustomizer() {
+    return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newExecutor());
+  }
 }
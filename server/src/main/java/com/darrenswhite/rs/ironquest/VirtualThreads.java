@@ -0,0 +1,65 @@
+package com.darrenswhite.rs.ironquest;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates {@link ExecutorService}s which run each task on a new virtual thread.
+ *
+ * Virtual threads are only available from Java 21, but the application is built for Java 11, so
+ * the executor is created reflectively when running on a Java runtime which supports them.
+ *
+ * @author Darren S. White
+ */
+public final class VirtualThreads {
+
+  private static final MethodHandle NEW_EXECUTOR = findNewExecutor();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * Test if the Java runtime supports virtual threads.
+   *
+   * @return <tt>true</tt> if virtual threads are supported; <tt>false</tt> otherwise
+   */
+  public static boolean isSupported() {
+    return NEW_EXECUTOR != null;
+  }
+
+  /**
+   * Create a new {@link ExecutorService} which starts a new virtual thread for each task.
+   *
+   * @return the executor
+   * @throws UnsupportedOperationException if the Java runtime does not support virtual threads
+   */
+  public static ExecutorService newExecutor() {
+    if (NEW_EXECUTOR == null) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+
+    try {
+      return (ExecutorService) NEW_EXECUTOR.invokeExact();
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Find the <tt>Executors.newVirtualThreadPerTaskExecutor()</tt> method.
+   *
+   * @return the method handle or <tt>null</tt> if the Java runtime does not support virtual
+   * threads
+   */
+  private static MethodHandle findNewExecutor() {
+    try {
+      return MethodHandles.publicLookup().findStatic(Executors.class,
+          "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+}
@@ -57,6 +57,16 @@ public abstract class Action {
    */
   public abstract ActionDTO createDTO();
 
+  /**
+   * Returns a DTO for this {@link Action} containing the changes to the {@link Player} since the
+   * previous action, rather than the full player.
+   *
+   * @param previous the player for the previous action
+   * @return the DTO
+   * @see Player#createDeltaDTO(Player)
+   */
+  public abstract ActionDTO createDeltaDTO(Player previous);
+
   /**
    * Returns the {@link ActionType}.
    *
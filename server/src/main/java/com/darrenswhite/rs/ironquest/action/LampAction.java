@@ -130,6 +130,15 @@ public class LampAction extends Action {
         .withMessage(getMessage()).withQuest(getQuest().createDTO()).build();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LampActionDTO createDeltaDTO(Player previous) {
+    return new LampActionDTO.Builder().withDelta(getPlayer().createDeltaDTO(previous))
+        .withFuture(isFuture()).withMessage(getMessage()).withQuest(getQuest().createDTO()).build();
+  }
+
   /**
    * {@inheritDoc}
    */
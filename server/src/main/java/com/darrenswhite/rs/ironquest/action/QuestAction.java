@@ -73,6 +73,15 @@ public class QuestAction extends Action {
         .withMessage(getMessage()).withQuest(getQuest().createDTO()).build();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public QuestActionDTO createDeltaDTO(Player previous) {
+    return new QuestActionDTO.Builder().withDelta(getPlayer().createDeltaDTO(previous))
+        .withFuture(isFuture()).withMessage(getMessage()).withQuest(getQuest().createDTO()).build();
+  }
+
   /**
    * {@inheritDoc}
    */
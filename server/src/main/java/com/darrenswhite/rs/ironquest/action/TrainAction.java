@@ -105,6 +105,15 @@ public class TrainAction extends Action {
         .withMessage(getMessage()).build();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TrainActionDTO createDeltaDTO(Player previous) {
+    return new TrainActionDTO.Builder().withDelta(getPlayer().createDeltaDTO(previous))
+        .withFuture(isFuture()).withMessage(getMessage()).build();
+  }
+
   /**
    * {@inheritDoc}
    */
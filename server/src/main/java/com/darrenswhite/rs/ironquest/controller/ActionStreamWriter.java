@@ -0,0 +1,66 @@
+package com.darrenswhite.rs.ironquest.controller;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.dto.ActionDTO;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes each {@link Action} to an {@link OutputStream} as newline delimited JSON, flushing after
+ * every line.
+ *
+ * When delta encoding is enabled, only the first action contains the full player and each
+ * following action contains the changes since the preceding action.
+ *
+ * @author Darren S. White
+ * @see Action#createDeltaDTO(Player)
+ */
+class ActionStreamWriter implements Consumer<Action> {
+
+  private final OutputStream outputStream;
+  private final ObjectWriter objectWriter;
+  private final boolean delta;
+  private Player previous;
+
+  ActionStreamWriter(OutputStream outputStream, ObjectMapper objectMapper, boolean delta) {
+    this.outputStream = outputStream;
+    this.objectWriter = objectMapper.writer();
+    this.delta = delta;
+  }
+
+  /**
+   * Write the DTO for the {@link Action}.
+   *
+   * @param action the action
+   * @throws UncheckedIOException if the action could not be written
+   */
+  @Override
+  public void accept(Action action) {
+    ActionDTO dto = delta && previous != null ? action.createDeltaDTO(previous) : action.createDTO();
+
+    previous = action.getPlayer();
+
+    try {
+      write(dto);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write the value as a single line of JSON.
+   *
+   * @param value the value
+   * @throws IOException if the value could not be written
+   */
+  void write(Object value) throws IOException {
+    outputStream.write(objectWriter.writeValueAsBytes(value));
+    outputStream.write('\n');
+    outputStream.flush();
+  }
+}
@@ -2,66 +2,379 @@ package com.darrenswhite.rs.ironquest.controller;
 
 import com.darrenswhite.rs.ironquest.dto.PathDTO;
 import com.darrenswhite.rs.ironquest.dto.PathFinderParametersDTO;
+import com.darrenswhite.rs.ironquest.dto.PathResultDTO;
 import com.darrenswhite.rs.ironquest.dto.QuestParametersDTO;
 import com.darrenswhite.rs.ironquest.path.Path;
+import com.darrenswhite.rs.ironquest.path.PathCache;
+import com.darrenswhite.rs.ironquest.path.PathCacheKey;
 import com.darrenswhite.rs.ironquest.path.PathFinderService;
 import com.darrenswhite.rs.ironquest.path.QuestNotFoundException;
 import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmId;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.PlayerService;
+import com.darrenswhite.rs.ironquest.player.QuestPriority;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 /**
  * {@link RestController} for quests path finder API.
  *
+ * Requests for quests and paths are handled asynchronously so that they do not hold a servlet
+ * thread. Players are created on the I/O pool, as loading a player waits for the hiscores and
+ * runemetrics, and paths are found on the CPU pool.
+ *
  * @author Darren S. White
+ * @see RequestExecutors
  */
 @RestController
 @RequestMapping("/quests")
 public class QuestController {
 
+  static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+  private static final String DTO_METER = "path.dto";
+
   private final PlayerService playerService;
   private final PathFinderService pathFinderService;
+  private final PathCache pathCache;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final RequestExecutors executors;
+  private final long streamTimeoutMillis;
+  private final int batchMaximumSize;
 
   @Autowired
-  public QuestController(PlayerService playerService, PathFinderService pathFinderService) {
+  public QuestController(PlayerService playerService, PathFinderService pathFinderService,
+      PathCache pathCache, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+      RequestExecutors executors, @Value("${path.stream.timeout}") Duration streamTimeout,
+      @Value("${path.batch.maximum-size}") int batchMaximumSize) {
     this.playerService = playerService;
     this.pathFinderService = pathFinderService;
+    this.pathCache = pathCache;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.executors = executors;
+    this.streamTimeoutMillis = streamTimeout.toMillis();
+    this.batchMaximumSize = batchMaximumSize;
   }
 
   /**
    * Returns a {@link Set} of {@link Quest}s which are not completed for the given parameters.
    *
    * @param parameters the parameters
-   * @return set of incomplete quests
+   * @return future set of incomplete quests
    */
   @GetMapping
-  public Set<Quest> getQuests(QuestParametersDTO parameters) {
-    Player player = playerService.createPlayer(parameters.getName(), parameters.getAccessFilter(),
-        parameters.getTypeFilter());
-
-    return player.getIncompleteQuests();
+  public CompletableFuture<Set<Quest>> getQuests(QuestParametersDTO parameters) {
+    return executors.handle(request -> executors.submitIo(() -> playerService
+        .createPlayer(parameters.getName(), parameters.getAccessFilter(),
+            parameters.getTypeFilter()), request)
+        .thenApply(Player::getIncompleteQuests));
   }
 
   /**
    * Finds the optimal {@link Path} for the given parameters.
    *
+   * The path is cached for the parameters and the state of the loaded player, so it is only found
+   * again once the player has gained xp or completed quests.
+   *
+   * Creating the {@link PathDTO} is recorded by the <tt>path.dto</tt> timer, tagged with the
+   * <tt>mode</tt> of either <tt>full</tt> or <tt>delta</tt>.
+   *
+   * The future completes exceptionally with a {@link QuestNotFoundException} if the optimal {@link
+   * Quest} can not be found.
+   *
    * @param parameters the parameters
-   * @return the optimal path
-   * @throws QuestNotFoundException if the optimal {@link Quest} can not be found
+   * @return the future optimal path, delta encoded if requested
+   * @see Path#createDeltaDTO()
+   * @see PathCache
    */
   @GetMapping("/path")
-  public PathDTO getPath(PathFinderParametersDTO parameters) throws QuestNotFoundException {
-    Player player = playerService.createPlayer(parameters.getName(), parameters.getAccessFilter(),
-        parameters.getTypeFilter(), parameters.isIronman(), parameters.isRecommended(),
-        parameters.getLampSkills(), parameters.getQuestPriorities());
+  public CompletableFuture<PathDTO> getPath(PathFinderParametersDTO parameters) {
+    return executors.handle(request -> executors
+        .submitIo(() -> createPlayer(parameters, parameters.getQuestPriorities()), request)
+        .thenCompose(player -> executors
+            .submitCpu(() -> findPathUnchecked(parameters, player), request)));
+  }
+
+  /**
+   * Finds the optimal {@link Path} for each of the given parameters.
+   *
+   * Work is shared between the parameters where possible: parameters for the same player which
+   * only differ by quest priorities, algorithm or delta encoding share a single loaded player, and
+   * identical parameters share a single path. Players are loaded and paths are found concurrently
+   * on the I/O and CPU pools.
+   *
+   * A failure to find one path does not affect the others, and is returned as the error for that
+   * path instead.
+   *
+   * @param parameters the parameters for each path
+   * @return the future result for each of the parameters, in the same order
+   * @throws ResponseStatusException if there are more than <tt>path.batch.maximum-size</tt>
+   * parameters
+   * @see QuestController#getPath(PathFinderParametersDTO)
+   */
+  @PostMapping("/path/batch")
+  public CompletableFuture<List<PathResultDTO>> getPaths(
+      @RequestBody List<PathFinderParametersDTO> parameters) {
+    if (parameters.size() > batchMaximumSize) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Batch size " + parameters.size() + " exceeds maximum of " + batchMaximumSize);
+    }
+
+    return executors.handle(request -> {
+      Map<List<Object>, CompletableFuture<Player>> players = new HashMap<>();
+      Map<List<Object>, CompletableFuture<PathDTO>> paths = new HashMap<>();
+      List<CompletableFuture<PathDTO>> futurePaths = new ArrayList<>(parameters.size());
+
+      for (PathFinderParametersDTO pathParameters : parameters) {
+        List<Object> playerKey = getPlayerKey(pathParameters);
+        List<Object> pathKey = new ArrayList<>(playerKey);
+
+        pathKey.addAll(Arrays.asList(new HashMap<>(pathParameters.getQuestPriorities()),
+            pathParameters.getAlgorithm(), pathParameters.isDelta()));
+
+        futurePaths.add(paths.computeIfAbsent(pathKey, k -> players
+            .computeIfAbsent(playerKey, pk -> executors
+                .submitIo(() -> createPlayer(pathParameters, Collections.emptyMap()), request))
+            .thenCompose(player -> executors
+                .submitCpu(() -> findPrioritisedPath(pathParameters, player), request))));
+      }
+
+      return CompletableFuture.allOf(futurePaths.toArray(new CompletableFuture<?>[0]))
+          .handle((v, e) -> {
+            List<PathResultDTO> results = new ArrayList<>(futurePaths.size());
+
+            for (CompletableFuture<PathDTO> futurePath : futurePaths) {
+              results.add(createPathResult(futurePath));
+            }
+
+            return results;
+          });
+    });
+  }
+
+  /**
+   * Finds the optimal {@link Path} for the given parameters and streams it as newline delimited
+   * JSON.
+   *
+   * Each action is written on its own line as soon as its position in the path is known. The
+   * final line contains the path stats, so a stream without them did not complete.
+   *
+   * The player is loaded on the I/O pool before the response starts, so any errors loading the
+   * player are reported as normal. The path is then found and written on the CPU pool, and is
+   * cancelled if the response fails or does not complete within <tt>path.stream.timeout</tt>.
+   *
+   * @param parameters the parameters
+   * @return the future streamed path
+   * @see ActionStreamWriter
+   */
+  @GetMapping("/path/stream")
+  public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> getPathStream(
+      PathFinderParametersDTO parameters) {
+    CompletableFuture<Player> player = executors.handle(request -> executors
+        .submitIo(() -> createPlayer(parameters, parameters.getQuestPriorities()), request));
+
+    return player.thenApply(p -> ResponseEntity.ok().contentType(APPLICATION_NDJSON)
+        .body(streamPath(parameters, p)));
+  }
+
+  /**
+   * Finds the optimal {@link Path} for the given parameters and {@link Player} on the CPU pool,
+   * writing each action to the returned {@link ResponseBodyEmitter} as it is found.
+   *
+   * @param parameters the parameters
+   * @param player the player loaded for the parameters
+   * @return the emitter for the streamed path
+   * @throws ResponseStatusException if the CPU pool is full
+   */
+  private ResponseBodyEmitter streamPath(PathFinderParametersDTO parameters, Player player) {
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMillis);
+    ActionStreamWriter writer = new ActionStreamWriter(new EmitterOutputStream(emitter),
+        objectMapper, parameters.isDelta());
+    Future<?> task = executors.executeCpu(() -> {
+      try {
+        Path path = pathFinderService.find(player, parameters.getAlgorithm(), writer);
+
+        writer.write(path.getStats().createDTO());
+        emitter.complete();
+      } catch (UncheckedIOException e) {
+        emitter.completeWithError(e.getCause());
+      } catch (QuestNotFoundException | IOException | RuntimeException e) {
+        emitter.completeWithError(e);
+      }
+    });
+
+    emitter.onTimeout(() -> task.cancel(true));
+    emitter.onError(e -> task.cancel(true));
+
+    return emitter;
+  }
+
+  /**
+   * Finds the optimal {@link Path} for the given parameters and {@link Player}, from the {@link
+   * PathCache} if possible.
+   *
+   * @param parameters the parameters
+   * @param player the player loaded for the parameters
+   * @return the optimal path, delta encoded if requested
+   * @throws QuestNotFoundException if the optimal {@link Quest} can not be found
+   */
+  private PathDTO findPath(PathFinderParametersDTO parameters, Player player)
+      throws QuestNotFoundException {
     AlgorithmId algorithm = parameters.getAlgorithm();
+    PathCacheKey key = new PathCacheKey(parameters, player);
+    Optional<PathDTO> cached = pathCache.get(key);
+
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    Path path = pathFinderService.find(player, algorithm);
+    boolean delta = parameters.isDelta();
+    PathDTO pathDTO = meterRegistry.timer(DTO_METER, "mode", delta ? "delta" : "full")
+        .record(() -> delta ? path.createDeltaDTO() : path.createDTO());
+
+    pathCache.put(key, pathDTO);
+
+    return pathDTO;
+  }
+
+  /**
+   * Finds the optimal {@link Path} for the given parameters and {@link Player}, wrapping any {@link
+   * QuestNotFoundException} so that it can be used to complete a {@link CompletableFuture}.
+   *
+   * @param parameters the parameters
+   * @param player the player loaded for the parameters
+   * @return the optimal path, delta encoded if requested
+   * @throws CompletionException if the optimal {@link Quest} can not be found
+   * @see QuestController#findPath(PathFinderParametersDTO, Player)
+   */
+  private PathDTO findPathUnchecked(PathFinderParametersDTO parameters, Player player) {
+    try {
+      return findPath(parameters, player);
+    } catch (QuestNotFoundException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  /**
+   * Create a {@link Player} for the given parameters with the quest priorities.
+   *
+   * The quest priorities are given separately so that a player without any priorities can be
+   * shared by parameters which only differ by their quest priorities.
+   *
+   * @param parameters the parameters
+   * @param questPriorities the quest priorities
+   * @return the player
+   */
+  private Player createPlayer(PathFinderParametersDTO parameters,
+      Map<Integer, QuestPriority> questPriorities) {
+    return playerService.createPlayer(parameters.getName(), parameters.getAccessFilter(),
+        parameters.getTypeFilter(), parameters.isIronman(), parameters.isRecommended(),
+        parameters.getLampSkills(), questPriorities);
+  }
+
+  /**
+   * Finds the optimal {@link Path} for the given parameters using a copy of the {@link Player}
+   * with the quest priorities from the parameters.
+   *
+   * @param parameters the parameters
+   * @param player the player loaded for the parameters, without any quest priorities
+   * @return the optimal path, delta encoded if requested
+   * @throws CompletionException if the optimal {@link Quest} can not be found
+   */
+  private PathDTO findPrioritisedPath(PathFinderParametersDTO parameters, Player player) {
+    Player prioritised = player.copy();
+
+    parameters.getQuestPriorities().forEach(prioritised::setQuestPriority);
+
+    return findPathUnchecked(parameters, prioritised);
+  }
+
+  /**
+   * Returns the key used to share a loaded {@link Player} between parameters in a batch.
+   *
+   * @param parameters the parameters
+   * @return the player key
+   */
+  private List<Object> getPlayerKey(PathFinderParametersDTO parameters) {
+    return Arrays.asList(parameters.getName(), parameters.getAccessFilter(),
+        parameters.getTypeFilter(), parameters.isIronman(), parameters.isRecommended(),
+        new ArrayList<>(parameters.getLampSkills()));
+  }
+
+  /**
+   * An {@link OutputStream} which buffers bytes until it is flushed, and then sends them to a
+   * {@link ResponseBodyEmitter}.
+   */
+  private static final class EmitterOutputStream extends ByteArrayOutputStream {
+
+    private final ResponseBodyEmitter emitter;
+
+    EmitterOutputStream(ResponseBodyEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() throws IOException {
+      if (size() > 0) {
+        emitter.send(toByteArray(), APPLICATION_NDJSON);
+        reset();
+      }
+    }
+  }
+
+  /**
+   * Waits for the path and creates the {@link PathResultDTO} for it.
+   *
+   * If the error does not have a message then the name of the error is used instead, so the
+   * result always has either a path or an error.
+   *
+   * @param path the future path
+   * @return the path result, with the error message if the path could not be found
+   */
+  private PathResultDTO createPathResult(CompletableFuture<PathDTO> path) {
+    try {
+      return new PathResultDTO.Builder().withPath(path.join()).build();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause() != null ? e.getCause() : e;
+      String message = cause.getMessage();
 
-    return pathFinderService.find(player, algorithm).createDTO();
+      return new PathResultDTO.Builder()
+          .withError(message != null ? message : cause.getClass().getName()).build();
+    }
   }
 }
@@ -0,0 +1,200 @@
+package com.darrenswhite.rs.ironquest.controller;
+
+import com.darrenswhite.rs.ironquest.VirtualThreads;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The thread pools used to handle requests asynchronously, so that they do not hold a servlet
+ * thread.
+ *
+ * The I/O pool has <tt>executor.io.threads</tt> threads and is used for tasks which wait for
+ * upstream services, such as loading a player. If <tt>executor.virtual-threads</tt> is enabled
+ * then each I/O task runs on a new virtual thread instead. The CPU pool always has
+ * <tt>executor.cpu.threads</tt> platform threads, or one per available processor if it is not
+ * positive, and is used to find paths.
+ *
+ * Each pool of platform threads queues at most <tt>executor.io.queue-capacity</tt> or
+ * <tt>executor.cpu.queue-capacity</tt> tasks, and a task which can not be queued fails with
+ * {@link HttpStatus#SERVICE_UNAVAILABLE}. A request which does not complete within
+ * <tt>executor.timeout</tt> also fails with {@link HttpStatus#SERVICE_UNAVAILABLE}, and any of its
+ * tasks which are still queued or running are cancelled.
+ *
+ * @author Darren S. White
+ */
+@Component
+public class RequestExecutors {
+
+  private final ExecutorService ioExecutor;
+  private final ExecutorService cpuExecutor;
+  private final long timeoutMillis;
+
+  @Autowired
+  public RequestExecutors(@Value("${executor.io.threads}") int ioThreads,
+      @Value("${executor.io.queue-capacity}") int ioQueueCapacity,
+      @Value("${executor.cpu.threads}") int cpuThreads,
+      @Value("${executor.cpu.queue-capacity}") int cpuQueueCapacity,
+      @Value("${executor.virtual-threads}") boolean virtualThreads,
+      @Value("${executor.timeout}") Duration timeout) {
+    this.ioExecutor = virtualThreads ? VirtualThreads.newExecutor()
+        : newFixedThreadPool(ioThreads, ioQueueCapacity);
+    this.cpuExecutor = newFixedThreadPool(
+        cpuThreads > 0 ? cpuThreads : Runtime.getRuntime().availableProcessors(),
+        cpuQueueCapacity);
+    this.timeoutMillis = timeout.toMillis();
+  }
+
+  /**
+   * Handle a request asynchronously.
+   *
+   * The handler is given the future response, which completes exceptionally with a {@link
+   * ResponseStatusException} if the request does not complete within <tt>executor.timeout</tt>.
+   * Tasks submitted for the request are cancelled once the response completes.
+   *
+   * @param handler the handler for the request, given the future response
+   * @param <T> the type of response
+   * @return the future response
+   * @see RequestExecutors#submitIo(Supplier, CompletableFuture)
+   * @see RequestExecutors#submitCpu(Supplier, CompletableFuture)
+   */
+  public <T> CompletableFuture<T> handle(
+      Function<CompletableFuture<T>, CompletableFuture<T>> handler) {
+    CompletableFuture<T> response = new CompletableFuture<>();
+
+    response.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+
+    handler.apply(response).whenComplete((result, e) -> {
+      if (e != null) {
+        response.completeExceptionally(e);
+      } else {
+        response.complete(result);
+      }
+    });
+
+    return response.exceptionally(e -> {
+      Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+      if (cause instanceof TimeoutException) {
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+            "Request did not complete within " + timeoutMillis + "ms", cause);
+      }
+
+      throw new CompletionException(cause);
+    });
+  }
+
+  /**
+   * Submit a task for a request to the I/O pool, which is cancelled if the response completes
+   * first.
+   *
+   * @param supplier the task
+   * @param response the future response for the request
+   * @param <T> the type of result
+   * @return the future result, which completes exceptionally with a {@link
+   * ResponseStatusException} if the pool is full
+   */
+  public <T> CompletableFuture<T> submitIo(Supplier<T> supplier, CompletableFuture<?> response) {
+    return submit(supplier, ioExecutor, response);
+  }
+
+  /**
+   * Submit a task for a request to the CPU pool, which is cancelled if the response completes
+   * first.
+   *
+   * @param supplier the task
+   * @param response the future response for the request
+   * @param <T> the type of result
+   * @return the future result, which completes exceptionally with a {@link
+   * ResponseStatusException} if the pool is full
+   */
+  public <T> CompletableFuture<T> submitCpu(Supplier<T> supplier, CompletableFuture<?> response) {
+    return submit(supplier, cpuExecutor, response);
+  }
+
+  /**
+   * Execute a task on the CPU pool which is not bound to the <tt>executor.timeout</tt>, such as
+   * writing a streamed response.
+   *
+   * @param task the task
+   * @return the future which can be used to cancel the task
+   * @throws ResponseStatusException if the pool is full
+   */
+  public Future<?> executeCpu(Runnable task) {
+    try {
+      return cpuExecutor.submit(task);
+    } catch (RejectedExecutionException e) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many requests", e);
+    }
+  }
+
+  /**
+   * Shutdown the I/O and CPU pools.
+   */
+  @PreDestroy
+  public void shutdown() {
+    ioExecutor.shutdownNow();
+    cpuExecutor.shutdownNow();
+  }
+
+  /**
+   * Submit a task for a request to the executor, which is cancelled if the response completes
+   * first.
+   *
+   * @param supplier the task
+   * @param executor the executor to run the task on
+   * @param response the future response for the request
+   * @param <T> the type of result
+   * @return the future result, which completes exceptionally with a {@link
+   * ResponseStatusException} if the executor is full
+   */
+  private <T> CompletableFuture<T> submit(Supplier<T> supplier, ExecutorService executor,
+      CompletableFuture<?> response) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+
+    try {
+      Future<?> task = executor.submit(() -> {
+        try {
+          result.complete(supplier.get());
+        } catch (Throwable e) {
+          result.completeExceptionally(e);
+        }
+      });
+
+      response.whenComplete((v, e) -> task.cancel(true));
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(
+          new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many requests", e));
+    }
+
+    return result;
+  }
+
+  /**
+   * Create a fixed size thread pool with a bounded queue, which rejects tasks once the queue is
+   * full.
+   *
+   * @param threads the number of threads
+   * @param queueCapacity the maximum number of queued tasks
+   * @return the thread pool
+   */
+  private static ExecutorService newFixedThreadPool(int threads, int queueCapacity) {
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity));
+  }
+}
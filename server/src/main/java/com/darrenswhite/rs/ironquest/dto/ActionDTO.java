@@ -2,22 +2,30 @@ package com.darrenswhite.rs.ironquest.dto;
 
 import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.action.ActionType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 /**
  * Data Transfer Object for {@link Action}.
  *
+ * Either the full {@link PlayerDTO} or the {@link PlayerDeltaDTO} since the previous action is
+ * present.
+ *
  * @author Darren S. White
  */
 public abstract class ActionDTO {
 
   protected final ActionType type;
   protected final PlayerDTO player;
+  protected final PlayerDeltaDTO delta;
   protected final boolean future;
   protected final String message;
 
-  protected ActionDTO(ActionType type, PlayerDTO player, boolean future, String message) {
+  protected ActionDTO(ActionType type, PlayerDTO player, PlayerDeltaDTO delta, boolean future,
+      String message) {
     this.type = type;
     this.player = player;
+    this.delta = delta;
     this.future = future;
     this.message = message;
   }
@@ -26,10 +34,16 @@ public abstract class ActionDTO {
     return type;
   }
 
+  @JsonInclude(Include.NON_NULL)
   public final PlayerDTO getPlayer() {
     return player;
   }
 
+  @JsonInclude(Include.NON_NULL)
+  public final PlayerDeltaDTO getDelta() {
+    return delta;
+  }
+
   public final boolean isFuture() {
     return future;
   }
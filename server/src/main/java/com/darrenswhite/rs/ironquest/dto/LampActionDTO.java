@@ -14,7 +14,7 @@ public class LampActionDTO extends ActionDTO {
   private final QuestDTO quest;
 
   LampActionDTO(Builder builder) {
-    super(ActionType.LAMP, builder.player, builder.future, builder.message);
+    super(ActionType.LAMP, builder.player, builder.delta, builder.future, builder.message);
     this.quest = builder.quest;
   }
 
@@ -35,7 +35,8 @@ public class LampActionDTO extends ActionDTO {
     }
     LampActionDTO that = (LampActionDTO) o;
     return future == that.future && type == that.type && Objects.equals(player, that.player)
-        && Objects.equals(quest, that.quest) && Objects.equals(message, that.message);
+        && Objects.equals(delta, that.delta) && Objects.equals(quest, that.quest) && Objects
+        .equals(message, that.message);
   }
 
   /**
@@ -43,12 +44,13 @@ public class LampActionDTO extends ActionDTO {
    */
   @Override
   public final int hashCode() {
-    return Objects.hash(future, type, player, quest, message);
+    return Objects.hash(future, type, player, delta, quest, message);
   }
 
   public static class Builder {
 
     private PlayerDTO player;
+    private PlayerDeltaDTO delta;
     private boolean future;
     private String message;
     private QuestDTO quest;
@@ -58,6 +60,11 @@ public class LampActionDTO extends ActionDTO {
       return this;
     }
 
+    public Builder withDelta(PlayerDeltaDTO delta) {
+      this.delta = delta;
+      return this;
+    }
+
     public Builder withFuture(boolean future) {
       this.future = future;
       return this;
@@ -7,6 +7,9 @@ import java.util.Objects;
 /**
  * Data Transfer Object for {@link Path}.
  *
+ * When delta encoded, only the first action contains the full {@link PlayerDTO} and each following
+ * action contains the {@link PlayerDeltaDTO} since the preceding action.
+ *
  * @author Darren S. White
  */
 public class PathDTO {
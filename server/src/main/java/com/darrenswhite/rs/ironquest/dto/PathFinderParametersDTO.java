@@ -44,6 +44,12 @@ public class PathFinderParametersDTO extends QuestParametersDTO {
    */
   private AlgorithmId algorithm = AlgorithmId.DEFAULT;
 
+  /**
+   * Toggle delta encoding. Set to <tt>true</tt> to include the player once and only the changes to
+   * the player for each action; <tt>false</tt> to include the full player for each action.
+   */
+  private boolean delta;
+
   public boolean isIronman() {
     return ironman;
   }
@@ -83,4 +89,12 @@ public class PathFinderParametersDTO extends QuestParametersDTO {
   public void setAlgorithm(AlgorithmId algorithm) {
     this.algorithm = algorithm;
   }
+
+  public boolean isDelta() {
+    return delta;
+  }
+
+  public void setDelta(boolean delta) {
+    this.delta = delta;
+  }
 }
@@ -0,0 +1,76 @@
+package com.darrenswhite.rs.ironquest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for the result of finding a single path in a batch.
+ *
+ * Exactly one of the path or the error is present.
+ *
+ * @author Darren S. White
+ */
+public class PathResultDTO {
+
+  private final PathDTO path;
+  private final String error;
+
+  PathResultDTO(Builder builder) {
+    this.path = builder.path;
+    this.error = builder.error;
+  }
+
+  @JsonInclude(Include.NON_NULL)
+  public PathDTO getPath() {
+    return path;
+  }
+
+  @JsonInclude(Include.NON_NULL)
+  public String getError() {
+    return error;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PathResultDTO)) {
+      return false;
+    }
+    PathResultDTO that = (PathResultDTO) o;
+    return Objects.equals(path, that.path) && Objects.equals(error, that.error);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final int hashCode() {
+    return Objects.hash(path, error);
+  }
+
+  public static class Builder {
+
+    private PathDTO path;
+    private String error;
+
+    public Builder withPath(PathDTO path) {
+      this.path = path;
+      return this;
+    }
+
+    public Builder withError(String error) {
+      this.error = error;
+      return this;
+    }
+
+    public PathResultDTO build() {
+      return new PathResultDTO(this);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.darrenswhite.rs.ironquest.dto;
+
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for the changes to a {@link Player} between two actions.
+ *
+ * Each value is the difference from the previous {@link PlayerDTO}. Skills with unchanged levels
+ * are omitted, as are any other values which have not changed.
+ *
+ * @author Darren S. White
+ */
+public class PlayerDeltaDTO {
+
+  private final Map<Skill, Integer> levels;
+  private final int questPoints;
+  private final int totalLevel;
+  private final int combatLevel;
+
+  PlayerDeltaDTO(Builder builder) {
+    this.levels = builder.levels;
+    this.questPoints = builder.questPoints;
+    this.totalLevel = builder.totalLevel;
+    this.combatLevel = builder.combatLevel;
+  }
+
+  @JsonInclude(Include.NON_EMPTY)
+  public Map<Skill, Integer> getLevels() {
+    return levels;
+  }
+
+  @JsonInclude(Include.NON_DEFAULT)
+  public int getQuestPoints() {
+    return questPoints;
+  }
+
+  @JsonInclude(Include.NON_DEFAULT)
+  public int getTotalLevel() {
+    return totalLevel;
+  }
+
+  @JsonInclude(Include.NON_DEFAULT)
+  public int getCombatLevel() {
+    return combatLevel;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PlayerDeltaDTO)) {
+      return false;
+    }
+    PlayerDeltaDTO that = (PlayerDeltaDTO) o;
+    return questPoints == that.questPoints && totalLevel == that.totalLevel
+        && combatLevel == that.combatLevel && Objects.equals(levels, that.levels);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final int hashCode() {
+    return Objects.hash(levels, questPoints, totalLevel, combatLevel);
+  }
+
+  public static class Builder {
+
+    private Map<Skill, Integer> levels;
+    private int questPoints;
+    private int totalLevel;
+    private int combatLevel;
+
+    public Builder withLevels(Map<Skill, Integer> levels) {
+      this.levels = levels;
+      return this;
+    }
+
+    public Builder withQuestPoints(int questPoints) {
+      this.questPoints = questPoints;
+      return this;
+    }
+
+    public Builder withTotalLevel(int totalLevel) {
+      this.totalLevel = totalLevel;
+      return this;
+    }
+
+    public Builder withCombatLevel(int combatLevel) {
+      this.combatLevel = combatLevel;
+      return this;
+    }
+
+    public PlayerDeltaDTO build() {
+      return new PlayerDeltaDTO(this);
+    }
+  }
+}
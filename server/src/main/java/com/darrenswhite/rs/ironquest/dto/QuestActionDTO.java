@@ -14,7 +14,7 @@ public class QuestActionDTO extends ActionDTO {
   private final QuestDTO quest;
 
   QuestActionDTO(Builder builder) {
-    super(ActionType.QUEST, builder.player, builder.future, builder.message);
+    super(ActionType.QUEST, builder.player, builder.delta, builder.future, builder.message);
     this.quest = builder.quest;
   }
 
@@ -35,7 +35,8 @@ public class QuestActionDTO extends ActionDTO {
     }
     QuestActionDTO that = (QuestActionDTO) o;
     return future == that.future && type == that.type && Objects.equals(player, that.player)
-        && Objects.equals(message, that.message) && Objects.equals(quest, that.quest);
+        && Objects.equals(delta, that.delta) && Objects.equals(message, that.message) && Objects
+        .equals(quest, that.quest);
   }
 
   /**
@@ -43,12 +44,13 @@ public class QuestActionDTO extends ActionDTO {
    */
   @Override
   public final int hashCode() {
-    return Objects.hash(future, type, player, message, quest);
+    return Objects.hash(future, type, player, delta, message, quest);
   }
 
   public static class Builder {
 
     private PlayerDTO player;
+    private PlayerDeltaDTO delta;
     private boolean future;
     private String message;
     private QuestDTO quest;
@@ -58,6 +60,11 @@ public class QuestActionDTO extends ActionDTO {
       return this;
     }
 
+    public Builder withDelta(PlayerDeltaDTO delta) {
+      this.delta = delta;
+      return this;
+    }
+
     public Builder withFuture(boolean future) {
       this.future = future;
       return this;
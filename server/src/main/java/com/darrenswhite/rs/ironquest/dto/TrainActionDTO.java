@@ -12,7 +12,7 @@ import java.util.Objects;
 public class TrainActionDTO extends ActionDTO {
 
   TrainActionDTO(Builder builder) {
-    super(ActionType.TRAIN, builder.player, builder.future, builder.message);
+    super(ActionType.TRAIN, builder.player, builder.delta, builder.future, builder.message);
   }
 
   /**
@@ -28,7 +28,7 @@ public class TrainActionDTO extends ActionDTO {
     }
     TrainActionDTO that = (TrainActionDTO) o;
     return future == that.future && type == that.type && Objects.equals(player, that.player)
-        && Objects.equals(message, that.message);
+        && Objects.equals(delta, that.delta) && Objects.equals(message, that.message);
   }
 
   /**
@@ -36,12 +36,13 @@ public class TrainActionDTO extends ActionDTO {
    */
   @Override
   public final int hashCode() {
-    return Objects.hash(future, type, player, message);
+    return Objects.hash(future, type, player, delta, message);
   }
 
   public static class Builder {
 
     private PlayerDTO player;
+    private PlayerDeltaDTO delta;
     private boolean future;
     private String message;
 
@@ -50,6 +51,11 @@ public class TrainActionDTO extends ActionDTO {
       return this;
     }
 
+    public Builder withDelta(PlayerDeltaDTO delta) {
+      this.delta = delta;
+      return this;
+    }
+
     public Builder withFuture(boolean future) {
       this.future = future;
       return this;
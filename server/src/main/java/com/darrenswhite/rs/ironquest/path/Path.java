@@ -3,6 +3,8 @@ package com.darrenswhite.rs.ironquest.path;
 import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.dto.ActionDTO;
 import com.darrenswhite.rs.ironquest.dto.PathDTO;
+import com.darrenswhite.rs.ironquest.dto.PlayerDTO;
+import com.darrenswhite.rs.ironquest.player.Player;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -53,6 +55,26 @@ public class Path {
     return new PathDTO.Builder().withActions(actionDTOs).withStats(getStats().createDTO()).build();
   }
 
+  /**
+   * Returns a DTO for this {@link Path} where each action contains the changes to the {@link
+   * Player} since the preceding action. The full player is only included once, for the first
+   * action, so the first action is the same as in {@link Path#createDTO()}.
+   *
+   * @return the DTO
+   * @see Action#createDeltaDTO(Player)
+   */
+  public PathDTO createDeltaDTO() {
+    List<ActionDTO> actionDTOs = new LinkedList<>();
+    Player previous = null;
+
+    for (Action action : getActions()) {
+      actionDTOs.add(previous == null ? action.createDTO() : action.createDeltaDTO(previous));
+      previous = action.getPlayer();
+    }
+
+    return new PathDTO.Builder().withActions(actionDTOs).withStats(getStats().createDTO()).build();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,180 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.dto.PathDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A bounded, in-memory cache of {@link PathDTO}s.
+ *
+ * Entries expire after a fixed time to live and the least recently used entry is evicted when the
+ * cache is full. The cache is full when it has more than <tt>path.cache.maximum-size</tt> entries,
+ * or the paths have more than <tt>path.cache.maximum-actions</tt> actions in total, as the size of
+ * a path grows with the number of its actions. The number of hits and misses are recorded by the
+ * <tt>path.cache.requests</tt> counter, tagged with the <tt>result</tt>.
+ *
+ * @author Darren S. White
+ * @see PathCacheKey
+ */
+@Component
+public class PathCache {
+
+  private final int maximumSize;
+  private final long maximumActions;
+  private final long ttlMillis;
+  private final Clock clock;
+  private final Map<PathCacheKey, Entry> entries;
+  private final Counter hits;
+  private final Counter misses;
+  private long actions;
+
+  @Autowired
+  public PathCache(@Value("${path.cache.maximum-size}") int maximumSize,
+      @Value("${path.cache.maximum-actions}") long maximumActions,
+      @Value("${path.cache.ttl}") Duration ttl, MeterRegistry meterRegistry) {
+    this(maximumSize, maximumActions, ttl, meterRegistry, Clock.systemUTC());
+  }
+
+  PathCache(int maximumSize, long maximumActions, Duration ttl, MeterRegistry meterRegistry,
+      Clock clock) {
+    this.maximumSize = maximumSize;
+    this.maximumActions = maximumActions;
+    this.ttlMillis = ttl.toMillis();
+    this.clock = clock;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.hits = meterRegistry.counter("path.cache.requests", "result", "hit");
+    this.misses = meterRegistry.counter("path.cache.requests", "result", "miss");
+
+    meterRegistry.gaugeMapSize("path.cache.size", Collections.emptyList(), entries);
+    meterRegistry.gauge("path.cache.actions", Collections.emptyList(), this, PathCache::actions);
+  }
+
+  /**
+   * Returns the cached {@link PathDTO} for the key, if present and not expired.
+   *
+   * @param key the key
+   * @return the cached path or empty if not found
+   */
+  public synchronized Optional<PathDTO> get(PathCacheKey key) {
+    Entry entry = entries.get(key);
+
+    if (entry != null && entry.isExpired(clock.millis())) {
+      entries.remove(key);
+      actions -= entry.actions;
+      entry = null;
+    }
+
+    if (entry == null) {
+      misses.increment();
+
+      return Optional.empty();
+    }
+
+    hits.increment();
+
+    return Optional.of(entry.path);
+  }
+
+  /**
+   * Add the {@link PathDTO} to the cache, evicting expired entries and then the least recently used
+   * entries if the cache is full.
+   *
+   * @param key the key
+   * @param path the path
+   */
+  public synchronized void put(PathCacheKey key, PathDTO path) {
+    long now = clock.millis();
+    Entry entry = new Entry(path, now + ttlMillis);
+    Entry previous = entries.put(key, entry);
+
+    actions += entry.actions;
+
+    if (previous != null) {
+      actions -= previous.actions;
+    }
+
+    if (isFull()) {
+      evict(cached -> cached.isExpired(now));
+    }
+
+    if (isFull()) {
+      evict(cached -> true);
+    }
+  }
+
+  /**
+   * Returns the number of entries in the cache, including any which have expired but have not yet
+   * been evicted.
+   *
+   * @return the number of entries
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the total number of actions for all paths in the cache.
+   *
+   * @return the number of actions
+   */
+  public synchronized long actions() {
+    return actions;
+  }
+
+  /**
+   * Test if the cache has more entries or actions than allowed.
+   *
+   * @return <tt>true</tt> if the cache is full; <tt>false</tt> otherwise
+   */
+  private boolean isFull() {
+    return entries.size() > maximumSize || actions > maximumActions;
+  }
+
+  /**
+   * Evict entries matching the filter, least recently used first, until the cache is not full.
+   *
+   * @param filter the filter for entries which can be evicted
+   */
+  private void evict(Predicate<Entry> filter) {
+    for (Iterator<Entry> iterator = entries.values().iterator();
+        isFull() && iterator.hasNext(); ) {
+      Entry entry = iterator.next();
+
+      if (filter.test(entry)) {
+        iterator.remove();
+        actions -= entry.actions;
+      }
+    }
+  }
+
+  /**
+   * A cached {@link PathDTO}, the number of its actions and the time it expires.
+   */
+  private static final class Entry {
+
+    private final PathDTO path;
+    private final int actions;
+    private final long expiresAt;
+
+    Entry(PathDTO path, long expiresAt) {
+      this.path = path;
+      this.actions = path.getActions() != null ? path.getActions().size() : 0;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.dto.PathFinderParametersDTO;
+import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmId;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestPriority;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestAccessFilter;
+import com.darrenswhite.rs.ironquest.quest.QuestTypeFilter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable key for a {@link PathCache} entry.
+ *
+ * The key is made up of the {@link PathFinderParametersDTO} and the state of the loaded {@link
+ * Player}, i.e. the xp for each {@link Skill} and the completed {@link Quest}s. Two requests with
+ * equal keys will always find the same {@link Path}.
+ *
+ * @author Darren S. White
+ */
+public final class PathCacheKey {
+
+  private final String name;
+  private final QuestAccessFilter accessFilter;
+  private final QuestTypeFilter typeFilter;
+  private final boolean ironman;
+  private final boolean recommended;
+  private final List<Skill> lampSkills;
+  private final Map<Integer, QuestPriority> questPriorities;
+  private final AlgorithmId algorithm;
+  private final boolean delta;
+  private final Map<Skill, Double> skillXps;
+  private final Set<Quest> completedQuests;
+
+  /**
+   * Create a new {@link PathCacheKey} for the parameters and the loaded {@link Player}.
+   *
+   * The lamp skills are kept in order, as the order determines which skills are preferred.
+   *
+   * @param parameters the parameters
+   * @param player the player loaded for the parameters
+   */
+  public PathCacheKey(PathFinderParametersDTO parameters, Player player) {
+    this.name = player.getName();
+    this.accessFilter = parameters.getAccessFilter();
+    this.typeFilter = parameters.getTypeFilter();
+    this.ironman = parameters.isIronman();
+    this.recommended = parameters.isRecommended();
+    this.lampSkills = new ArrayList<>(parameters.getLampSkills());
+    this.questPriorities = new HashMap<>(parameters.getQuestPriorities());
+    this.algorithm = parameters.getAlgorithm();
+    this.delta = parameters.isDelta();
+    this.skillXps = new EnumMap<>(Skill.class);
+    this.completedQuests = new HashSet<>(player.getCompletedQuests());
+
+    skillXps.putAll(player.getSkillXps());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PathCacheKey)) {
+      return false;
+    }
+    PathCacheKey that = (PathCacheKey) o;
+    return ironman == that.ironman && recommended == that.recommended && delta == that.delta
+        && Objects.equals(name, that.name) && accessFilter == that.accessFilter
+        && typeFilter == that.typeFilter && Objects.equals(lampSkills, that.lampSkills) && Objects
+        .equals(questPriorities, that.questPriorities) && algorithm == that.algorithm && Objects
+        .equals(skillXps, that.skillXps) && Objects.equals(completedQuests, that.completedQuests);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, accessFilter, typeFilter, ironman, recommended, lampSkills,
+        questPriorities, algorithm, delta, skillXps, completedQuests);
+  }
+}
@@ -6,9 +6,13 @@ import com.darrenswhite.rs.ironquest.path.algorithm.DefaultAlgorithm;
 import com.darrenswhite.rs.ironquest.path.algorithm.PathFinderAlgorithm;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -23,14 +27,30 @@ public class PathFinder {
 
   private final Player player;
   private final PathFinderAlgorithm algorithm;
+  private final ForkJoinPool scoringPool;
+  private int iterations;
 
   public PathFinder(Player player) {
     this(player, new DefaultAlgorithm());
   }
 
   public PathFinder(Player player, PathFinderAlgorithm algorithm) {
+    this(player, algorithm, null);
+  }
+
+  /**
+   * Create a new {@link PathFinder} which scores candidate {@link Quest}s concurrently on the given
+   * pool.
+   *
+   * @param player the player
+   * @param algorithm the algorithm
+   * @param scoringPool the pool to score quests on, or <tt>null</tt> to score sequentially
+   * @see QuestIterator
+   */
+  public PathFinder(Player player, PathFinderAlgorithm algorithm, ForkJoinPool scoringPool) {
     this.player = player;
     this.algorithm = algorithm;
+    this.scoringPool = scoringPool;
   }
 
   /**
@@ -51,19 +71,50 @@ public class PathFinder {
    * @throws QuestNotFoundException if the optimal quest can not be found
    */
   public Path find() throws QuestNotFoundException {
+    return find(action -> {
+    });
+  }
+
+  /**
+   * Find the optimal {@link Path} as in {@link PathFinder#find()}, passing each {@link Action} to
+   * the listener as soon as its position in the path is known.
+   *
+   * An action's position is known once there are no future actions before it, as future actions
+   * are moved to the end of the path when they are processed. The listener receives the actions in
+   * the same order as {@link Path#getActions()}.
+   *
+   * The current thread is checked for an interrupt before each quest is chosen, so that a find
+   * which is no longer needed can be cancelled.
+   *
+   * @param listener the listener to receive each action
+   * @return the optimal path
+   * @throws QuestNotFoundException if the optimal quest can not be found
+   * @throws CancellationException if the current thread is interrupted
+   */
+  public Path find(Consumer<Action> listener) throws QuestNotFoundException {
     LOG.debug("Finding optimal quest path for player: {}", player.getName());
 
-    List<Action> actions = new LinkedList<>();
+    List<Action> actions = new ArrayList<>();
+    int published = 0;
     PathStats stats = createStats(player);
-    QuestIterator iterator = new QuestIterator(player, algorithm);
+    QuestIterator iterator = new QuestIterator(player, algorithm, scoringPool);
 
     completePlaceholderQuests(player);
+    iterations = 0;
 
     while (iterator.hasNext()) {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new CancellationException(
+            "Interrupted finding quest path for player: " + player.getName());
+      }
+
       Quest next = iterator.next();
 
+      iterations++;
+
       actions.addAll(completeQuest(player, next));
       processFutureActions(player, actions);
+      published = publishActions(actions, published, listener, false);
     }
 
     if (!player.getIncompleteQuests().isEmpty()) {
@@ -71,10 +122,40 @@ public class PathFinder {
     }
 
     processFutureActions(player, actions);
+    publishActions(actions, published, listener, true);
 
     return new Path(actions, stats);
   }
 
+  /**
+   * Returns the number of {@link Quest}s chosen by the {@link QuestIterator} during the last call
+   * to {@link PathFinder#find(Consumer)}.
+   *
+   * @return the number of iterations
+   */
+  public int getIterations() {
+    return iterations;
+  }
+
+  /**
+   * Pass the unpublished {@link Action}s to the listener, stopping at the first future action
+   * unless all actions are to be published.
+   *
+   * @param actions the actions
+   * @param published the number of actions already published
+   * @param listener the listener to receive each action
+   * @param all <tt>true</tt> to publish all remaining actions; <tt>false</tt> otherwise
+   * @return the number of actions published
+   */
+  private int publishActions(List<Action> actions, int published, Consumer<Action> listener,
+      boolean all) {
+    while (published < actions.size() && (all || !actions.get(published).isFuture())) {
+      listener.accept(actions.get(published++));
+    }
+
+    return published;
+  }
+
   /**
    * Create {@link PathStats} for the specified {@link Player}.
    *
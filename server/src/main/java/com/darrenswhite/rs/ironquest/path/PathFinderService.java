@@ -1,20 +1,63 @@
 package com.darrenswhite.rs.ironquest.path;
 
+import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmFactory;
 import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmId;
 import com.darrenswhite.rs.ironquest.path.algorithm.PathFinderAlgorithm;
 import com.darrenswhite.rs.ironquest.player.Player;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * {@link Service} for finding {@link Path}s.
+ *
+ * Each attempt to find a path is recorded by the <tt>path.find</tt> timer, tagged with the
+ * <tt>outcome</tt> of either <tt>success</tt> or <tt>failure</tt>. The number of actions and
+ * iterations of each path found are recorded by the <tt>path.actions</tt> and
+ * <tt>path.iterations</tt> distribution summaries. All meters are tagged with the
+ * <tt>algorithm</tt> used.
+ *
+ * If <tt>path.scoring.parallelism</tt> is greater than zero, candidate quests are scored
+ * concurrently on a dedicated {@link ForkJoinPool} with that parallelism, shared by all requests.
+ * Otherwise quests are scored sequentially on the request thread.
+ *
+ * @author Darren S. White
+ */
 @Service
 public class PathFinderService {
 
+  private static final String FIND_METER = "path.find";
+  private static final String ACTIONS_METER = "path.actions";
+  private static final String ITERATIONS_METER = "path.iterations";
+  private static final String ALGORITHM_TAG = "algorithm";
+  private static final String OUTCOME_TAG = "outcome";
+
   private final AlgorithmFactory algorithmFactory;
+  private final MeterRegistry meterRegistry;
+  private final ForkJoinPool scoringPool;
 
   @Autowired
-  public PathFinderService(AlgorithmFactory algorithmFactory) {
+  public PathFinderService(AlgorithmFactory algorithmFactory, MeterRegistry meterRegistry,
+      @Value("${path.scoring.parallelism}") int scoringParallelism) {
     this.algorithmFactory = algorithmFactory;
+    this.meterRegistry = meterRegistry;
+    this.scoringPool = scoringParallelism > 0 ? new ForkJoinPool(scoringParallelism) : null;
+  }
+
+  /**
+   * Shut down the scoring pool, if there is one.
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (scoringPool != null) {
+      scoringPool.shutdown();
+    }
   }
 
   /**
@@ -28,9 +71,41 @@ public class PathFinderService {
    * @see AlgorithmFactory#getAlgorithm(AlgorithmId)
    */
   public Path find(Player player, AlgorithmId id) throws QuestNotFoundException {
+    return find(player, id, action -> {
+    });
+  }
+
+  /**
+   * Find the optimal {@link Path} for the specified {@link Player} using the given algorithm,
+   * passing each {@link Action} to the listener as soon as its position in the path is known.
+   *
+   * @param player the player
+   * @param id the id of the algorithm to use
+   * @param listener the listener to receive each action
+   * @return the optimal path
+   * @throws QuestNotFoundException if the optimal quest can not be found
+   * @see PathFinder#find(Consumer)
+   */
+  public Path find(Player player, AlgorithmId id, Consumer<Action> listener)
+      throws QuestNotFoundException {
     PathFinderAlgorithm algorithm = createAlgorithm(id);
+    PathFinder pathFinder = new PathFinder(player, algorithm, scoringPool);
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Path path = null;
+
+    try {
+      path = pathFinder.find(listener);
+    } finally {
+      sample.stop(meterRegistry.timer(FIND_METER, ALGORITHM_TAG, id.name(), OUTCOME_TAG,
+          path != null ? "success" : "failure"));
+    }
+
+    meterRegistry.summary(ACTIONS_METER, ALGORITHM_TAG, id.name())
+        .record(path.getActions().size());
+    meterRegistry.summary(ITERATIONS_METER, ALGORITHM_TAG, id.name())
+        .record(pathFinder.getIterations());
 
-    return new PathFinder(player, algorithm).find();
+    return path;
   }
 
   /**
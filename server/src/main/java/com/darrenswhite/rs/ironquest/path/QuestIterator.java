@@ -1,31 +1,74 @@
 package com.darrenswhite.rs.ironquest.path;
 
 import com.darrenswhite.rs.ironquest.path.algorithm.PathFinderAlgorithm;
+import com.darrenswhite.rs.ironquest.path.algorithm.QuestScore;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Interface used to iterate a {@link Collection} of {@link Quest}s in optimal order.
  *
+ * The iterator keeps a frontier of {@link Quest}s which are unlocked, i.e. all {@link
+ * CombatRequirement}s, {@link QuestPointsRequirement}s, and {@link QuestRequirement}s are
+ * satisfied. Locked quests are only re-evaluated when one of their quest requirements is completed,
+ * or when the combat level or quest points of the {@link Player} change.
+ *
+ * Unlocked quests are held in a {@link QuestQueue} keyed by their {@link QuestScore}. A score is
+ * only recomputed when the xp changes for one of the {@link Skill}s it depends on, when one of its
+ * quest requirements (recursively) is completed, or when the score is volatile.
+ *
+ * If a {@link ForkJoinPool} is given then every new {@link QuestScore} is computed on the pool
+ * before it is added to the queue, so that all candidates are scored concurrently. The queue then
+ * only compares the computed values, so the order is the same as when scoring sequentially.
+ *
+ * @see PathFinderAlgorithm#getScoreDependencies(Quest)
+ * @see PathFinderAlgorithm#isVolatile(Player, Quest)
+ *
  * @author Darren S. White
  */
 public class QuestIterator implements Iterator<Quest> {
 
   private final Player player;
   private final PathFinderAlgorithm algorithm;
+  private final ForkJoinPool scoringPool;
+
+  private final QuestQueue unlocked = new QuestQueue();
+  private final Set<Quest> locked = new HashSet<>();
+  private final Set<Quest> volatileQuests = new HashSet<>();
+  private final Map<Quest, Set<Quest>> dependants = new HashMap<>();
+  private final Map<Quest, Set<Quest>> scoreDependants = new HashMap<>();
+  private final Map<Skill, Set<Quest>> skillDependants = new EnumMap<>(Skill.class);
+  private final Map<Skill, Double> skillXps = new EnumMap<>(Skill.class);
 
+  private boolean initialised;
+  private double combatLevel;
+  private int questPoints;
   private Quest next;
 
   public QuestIterator(Player player, PathFinderAlgorithm algorithm) {
+    this(player, algorithm, null);
+  }
+
+  public QuestIterator(Player player, PathFinderAlgorithm algorithm, ForkJoinPool scoringPool) {
     this.player = player;
     this.algorithm = algorithm;
+    this.scoringPool = scoringPool;
   }
 
   /**
@@ -58,9 +101,182 @@ public class QuestIterator implements Iterator<Quest> {
    * {@link Quest}s are compared using the given algorithm.
    */
   private Quest find() {
-    return player.getIncompleteQuests().stream().filter(
-        quest -> quest.meetsCombatRequirement(player) && quest.meetsQuestPointRequirement(player)
-            && quest.meetsQuestRequirements(player)).max(algorithm.getQuestComparator(player))
-        .orElse(null);
+    if (!initialised) {
+      initialise();
+    } else {
+      update();
+    }
+
+    return unlocked.peek();
+  }
+
+  /**
+   * Build the reverse quest requirement index and the initial frontier of unlocked {@link Quest}s.
+   *
+   * This is deferred until the first call to {@link QuestIterator#hasNext()} so that any quests
+   * completed before iteration begins (e.g. placeholder quests) are taken into account.
+   */
+  private void initialise() {
+    Set<Quest> incompleteQuests = player.getIncompleteQuests();
+    List<Quest> unlockedQuests = new ArrayList<>();
+
+    for (Quest quest : incompleteQuests) {
+      for (QuestRequirement questRequirement : quest.getRequirements().getQuests()) {
+        dependants.computeIfAbsent(questRequirement.getQuest(), q -> new HashSet<>()).add(quest);
+      }
+
+      if (isUnlocked(quest)) {
+        unlockedQuests.add(quest);
+      } else {
+        locked.add(quest);
+      }
+    }
+
+    unlock(unlockedQuests);
+
+    skillXps.putAll(player.getSkillXps());
+    combatLevel = player.getCombatLevel();
+    questPoints = player.getQuestPoints();
+    initialised = true;
+  }
+
+  /**
+   * Update the frontier of unlocked {@link Quest}s.
+   *
+   * Completed quests are removed from the frontier and their dependants are re-evaluated. If the
+   * combat level or quest points have changed, then any locked quests with a {@link
+   * CombatRequirement} or {@link QuestPointsRequirement} are also re-evaluated.
+   *
+   * The {@link QuestScore} is recomputed for every unlocked quest which is volatile, depends on a
+   * completed quest, or depends on a {@link Skill} which has gained xp.
+   */
+  private void update() {
+    Set<Quest> completed = new HashSet<>();
+
+    for (Quest quest : unlocked.getQuests()) {
+      if (player.isQuestCompleted(quest)) {
+        completed.add(quest);
+      }
+    }
+
+    completed.forEach(unlocked::remove);
+    volatileQuests.removeAll(completed);
+    locked.removeIf(player::isQuestCompleted);
+
+    Set<Quest> candidates = new HashSet<>();
+    Set<Quest> invalidated = new HashSet<>(volatileQuests);
+
+    for (Quest quest : completed) {
+      candidates.addAll(dependants.getOrDefault(quest, Set.of()));
+      invalidated.addAll(scoreDependants.getOrDefault(quest, Set.of()));
+    }
+
+    for (Map.Entry<Skill, Double> entry : player.getSkillXps().entrySet()) {
+      if (!entry.getValue().equals(skillXps.put(entry.getKey(), entry.getValue()))) {
+        invalidated.addAll(skillDependants.getOrDefault(entry.getKey(), Set.of()));
+      }
+    }
+
+    double newCombatLevel = player.getCombatLevel();
+    int newQuestPoints = player.getQuestPoints();
+
+    if (newCombatLevel != combatLevel || newQuestPoints != questPoints) {
+      for (Quest quest : locked) {
+        if (quest.getRequirements().getCombat() != null
+            || quest.getRequirements().getQuestPoints() != null) {
+          candidates.add(quest);
+        }
+      }
+
+      combatLevel = newCombatLevel;
+      questPoints = newQuestPoints;
+    }
+
+    List<Quest> rescored = new ArrayList<>();
+    List<Quest> unlockedQuests = new ArrayList<>();
+
+    for (Quest quest : invalidated) {
+      if (unlocked.contains(quest)) {
+        rescored.add(quest);
+      }
+    }
+
+    for (Quest quest : candidates) {
+      if (locked.contains(quest) && isUnlocked(quest)) {
+        locked.remove(quest);
+        unlockedQuests.add(quest);
+      }
+    }
+
+    putScores(rescored);
+    unlock(unlockedQuests);
+  }
+
+  /**
+   * Add the {@link Quest}s to the unlocked queue and index the dependencies of their scores.
+   *
+   * @param quests the quests
+   */
+  private void unlock(List<Quest> quests) {
+    putScores(quests);
+
+    for (Quest quest : quests) {
+      if (algorithm.isVolatile(player, quest)) {
+        volatileQuests.add(quest);
+      }
+
+      for (QuestRequirement questRequirement : quest.getQuestRequirements(true)) {
+        scoreDependants.computeIfAbsent(questRequirement.getQuest(), q -> new HashSet<>())
+            .add(quest);
+      }
+
+      for (Skill skill : algorithm.getScoreDependencies(quest)) {
+        skillDependants.computeIfAbsent(skill, s -> new HashSet<>()).add(quest);
+      }
+    }
+  }
+
+  /**
+   * Score the {@link Quest}s and add or update them in the unlocked queue.
+   *
+   * If there is a scoring pool and more than one quest, then the scores are computed concurrently
+   * on the pool first.
+   *
+   * @param quests the quests
+   */
+  private void putScores(List<Quest> quests) {
+    List<QuestScore> scores = new ArrayList<>(quests.size());
+
+    for (Quest quest : quests) {
+      scores.add(algorithm.score(player, quest));
+    }
+
+    if (scoringPool != null && scores.size() > 1) {
+      List<ForkJoinTask<?>> tasks = new ArrayList<>(scores.size());
+
+      for (QuestScore score : scores) {
+        tasks.add(scoringPool.submit(score::computeAll));
+      }
+
+      for (ForkJoinTask<?> task : tasks) {
+        task.join();
+      }
+    }
+
+    for (int i = 0; i < quests.size(); i++) {
+      unlocked.put(quests.get(i), scores.get(i));
+    }
+  }
+
+  /**
+   * Test if the {@link Quest} is unlocked for the {@link Player}.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if the combat, quest point and quest requirements are met;
+   * <tt>false</tt> otherwise
+   */
+  private boolean isUnlocked(Quest quest) {
+    return quest.meetsCombatRequirement(player) && quest.meetsQuestPointRequirement(player) && quest
+        .meetsQuestRequirements(player);
   }
 }
@@ -0,0 +1,158 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.path.algorithm.QuestScore;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An indexed priority queue of {@link Quest}s keyed by {@link QuestScore}.
+ *
+ * The {@link Quest} with the highest score is at the head of the queue. The score for any quest in
+ * the queue can be updated in logarithmic time.
+ *
+ * @author Darren S. White
+ */
+class QuestQueue {
+
+  private final List<Quest> heap = new ArrayList<>();
+  private final Map<Quest, QuestScore> scores = new HashMap<>();
+  private final Map<Quest, Integer> positions = new HashMap<>();
+
+  /**
+   * Returns the {@link Quest} with the highest score.
+   *
+   * @return the head of the queue or <tt>null</tt> if the queue is empty
+   */
+  Quest peek() {
+    return heap.isEmpty() ? null : heap.get(0);
+  }
+
+  /**
+   * Returns the {@link Quest}s in this queue.
+   *
+   * @return set of quests
+   */
+  Set<Quest> getQuests() {
+    return Collections.unmodifiableSet(scores.keySet());
+  }
+
+  /**
+   * Test if the {@link Quest} is in this queue.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if the quest is in this queue; <tt>false</tt> otherwise
+   */
+  boolean contains(Quest quest) {
+    return positions.containsKey(quest);
+  }
+
+  /**
+   * Returns the number of {@link Quest}s in this queue.
+   *
+   * @return the size of the queue
+   */
+  int size() {
+    return heap.size();
+  }
+
+  /**
+   * Add the {@link Quest} to this queue, or update its score if it is already in the queue.
+   *
+   * @param quest the quest
+   * @param score the score for the quest
+   */
+  void put(Quest quest, QuestScore score) {
+    Integer position = positions.get(quest);
+
+    scores.put(quest, score);
+
+    if (position == null) {
+      heap.add(quest);
+      positions.put(quest, heap.size() - 1);
+      siftUp(heap.size() - 1);
+    } else {
+      siftUp(position);
+      siftDown(positions.get(quest));
+    }
+  }
+
+  /**
+   * Remove the {@link Quest} from this queue.
+   *
+   * @param quest the quest
+   */
+  void remove(Quest quest) {
+    Integer position = positions.remove(quest);
+
+    if (position == null) {
+      return;
+    }
+
+    scores.remove(quest);
+
+    int last = heap.size() - 1;
+    Quest moved = heap.remove(last);
+
+    if (position != last) {
+      heap.set(position, moved);
+      positions.put(moved, position);
+      siftUp(position);
+      siftDown(positions.get(moved));
+    }
+  }
+
+  private void siftUp(int position) {
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+
+      if (compare(position, parent) <= 0) {
+        break;
+      }
+
+      swap(position, parent);
+      position = parent;
+    }
+  }
+
+  private void siftDown(int position) {
+    int size = heap.size();
+
+    while (true) {
+      int left = 2 * position + 1;
+      int right = left + 1;
+      int largest = position;
+
+      if (left < size && compare(left, largest) > 0) {
+        largest = left;
+      }
+      if (right < size && compare(right, largest) > 0) {
+        largest = right;
+      }
+      if (largest == position) {
+        break;
+      }
+
+      swap(position, largest);
+      position = largest;
+    }
+  }
+
+  private int compare(int i, int j) {
+    return scores.get(heap.get(i)).compareTo(scores.get(heap.get(j)));
+  }
+
+  private void swap(int i, int j) {
+    Quest a = heap.get(i);
+    Quest b = heap.get(j);
+
+    heap.set(i, b);
+    heap.set(j, a);
+    positions.put(b, i);
+    positions.put(a, j);
+  }
+}
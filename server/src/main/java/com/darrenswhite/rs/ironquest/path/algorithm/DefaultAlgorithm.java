@@ -2,7 +2,6 @@ package com.darrenswhite.rs.ironquest.path.algorithm;
 
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.quest.Quest;
-import java.util.Comparator;
 import org.springframework.stereotype.Component;
 
 /**
@@ -22,18 +21,19 @@ public class DefaultAlgorithm extends PathFinderAlgorithm {
   }
 
   /**
-   * Return a comparator for comparing {@link Quest}s.
+   * {@inheritDoc}
    *
-   * The order in which quests are compared is: priority, skill requirements, rewards.
+   * The order in which quests are compared is: priority, lowest skill requirements, highest
+   * rewards.
    *
-   * @see Comparators#priority(Player)
-   * @see Comparators#remainingSkillRequirements(Player)
-   * @see Comparators#rewards(Player)
+   * @see Player#getQuestPriority(Quest)
+   * @see Player#getTotalRemainingSkillRequirements(Quest, boolean)
+   * @see Player#getTotalQuestRewards(Quest)
    */
   @Override
-  protected Comparator<Quest> comparator(Player player) {
-    return Comparators.priority(player)
-        .thenComparing(Comparators.remainingSkillRequirements(player))
-        .thenComparing(Comparators.rewards(player));
+  public QuestScore score(Player player, Quest quest) {
+    return new QuestScore(quest, () -> player.getQuestPriority(quest).ordinal(),
+        () -> -player.getTotalRemainingSkillRequirements(quest, true),
+        () -> player.getTotalQuestRewards(quest));
   }
 }
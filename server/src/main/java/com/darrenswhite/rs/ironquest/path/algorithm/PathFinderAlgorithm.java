@@ -1,11 +1,17 @@
 package com.darrenswhite.rs.ironquest.path.algorithm;
 
 import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
- * Abstract class used to compare {@link Quest}s.
+ * Abstract class used to score and compare {@link Quest}s.
  *
  * @author Darren S. White
  */
@@ -18,24 +24,75 @@ public abstract class PathFinderAlgorithm {
    */
   public abstract AlgorithmId getId();
 
+  /**
+   * Returns the {@link QuestScore} for the given {@link Quest}. The quest with the highest score is
+   * the most optimal quest to complete for the given {@link Player}.
+   *
+   * @param player the player
+   * @param quest the quest to score
+   * @return the quest score
+   */
+  public abstract QuestScore score(Player player, Quest quest);
+
   /**
    * Returns a {@link Comparator<Quest>} that returns the most optimal {@link Quest} to complete for
    * the given {@link Player}.
    *
    * @param player the player
    * @return a comparator that will compare quests and return the most optimal quest
-   * @see PathFinderAlgorithm#comparator(Player)
+   * @see PathFinderAlgorithm#score(Player, Quest)
    */
   public Comparator<Quest> getQuestComparator(Player player) {
-    return this.comparator(player).thenComparing(Quest::getId);
+    return Comparator.comparing(quest -> score(player, quest));
   }
 
   /**
-   * Returns a {@link Comparator<Quest>} that returns the most optimal {@link Quest} to complete for
-   * the given {@link Player}.
+   * Returns the {@link Skill}s which the {@link QuestScore} for the given {@link Quest} depends on.
+   * The score only needs to be recomputed when the xp for one of these skills changes, or when one
+   * of the quest requirements (recursively) is completed.
+   *
+   * By default this is every {@link SkillRequirement} for the quest and its quest requirements
+   * (recursively).
+   *
+   * @param quest the quest
+   * @return set of skills
+   */
+  public Set<Skill> getScoreDependencies(Quest quest) {
+    Set<Skill> skills = EnumSet.noneOf(Skill.class);
+
+    addSkillRequirements(skills, quest);
+
+    for (QuestRequirement questRequirement : quest.getQuestRequirements(true)) {
+      addSkillRequirements(skills, questRequirement.getQuest());
+    }
+
+    return skills;
+  }
+
+  /**
+   * Test if the {@link QuestScore} for the given {@link Quest} may change regardless of its {@link
+   * PathFinderAlgorithm#getScoreDependencies(Quest)}, and so must be recomputed every time.
+   *
+   * By default this is any quest with {@link LampReward}s, as the optimal lamp skills depend on
+   * all remaining quests.
    *
    * @param player the player
-   * @return a comparator that will compare quests and return the most optimal quest
+   * @param quest the quest
+   * @return <tt>true</tt> if the score must always be recomputed; <tt>false</tt> otherwise
    */
-  protected abstract Comparator<Quest> comparator(Player player);
+  public boolean isVolatile(Player player, Quest quest) {
+    return !quest.getRewards().getLamps().isEmpty();
+  }
+
+  /**
+   * Add the {@link Skill} for each {@link SkillRequirement} of the {@link Quest}.
+   *
+   * @param skills the skills to add to
+   * @param quest the quest
+   */
+  private void addSkillRequirements(Set<Skill> skills, Quest quest) {
+    for (SkillRequirement skillRequirement : quest.getRequirements().getSkills()) {
+      skills.add(skillRequirement.getSkill());
+    }
+  }
 }
@@ -0,0 +1,75 @@
+package com.darrenswhite.rs.ironquest.path.algorithm;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A class representing the score of a {@link Quest} for a {@link PathFinderAlgorithm}.
+ *
+ * A score is made up of one or more components which are compared in order, with ties broken by
+ * the {@link Quest} id. The highest score is the most optimal.
+ *
+ * Each component is only computed when it is first needed for a comparison, and is then
+ * remembered for the lifetime of this score.
+ *
+ * @author Darren S. White
+ */
+public final class QuestScore implements Comparable<QuestScore> {
+
+  private final int questId;
+  private final DoubleSupplier[] components;
+  private final double[] values;
+
+  private int computed;
+
+  public QuestScore(Quest quest, DoubleSupplier... components) {
+    this.questId = quest.getId();
+    this.components = components;
+    this.values = new double[components.length];
+  }
+
+  /**
+   * Returns the value of the component at the specified index, computing it if needed.
+   *
+   * @param index the component index
+   * @return the component value
+   */
+  public double getValue(int index) {
+    while (computed <= index) {
+      values[computed] = components[computed].getAsDouble();
+      components[computed] = null;
+      computed++;
+    }
+
+    return values[index];
+  }
+
+  /**
+   * Compute all of the components which have not yet been computed.
+   *
+   * This allows scores to be computed concurrently before they are compared.
+   */
+  public void computeAll() {
+    if (components.length > 0) {
+      getValue(components.length - 1);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int compareTo(QuestScore other) {
+    int length = Math.min(components.length, other.components.length);
+
+    for (int i = 0; i < length; i++) {
+      int compare = Double.compare(getValue(i), other.getValue(i));
+
+      if (compare != 0) {
+        return compare;
+      }
+    }
+
+    return Integer.compare(questId, other.questId);
+  }
+}
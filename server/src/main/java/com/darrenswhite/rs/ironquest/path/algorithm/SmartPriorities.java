@@ -4,19 +4,18 @@ import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.QuestPriority;
 import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
-import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.BiFunction;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 /**
  * The forced priorities algorithm implementation for {@link PathFinderAlgorithm}.
  *
+ * Scores are computed sequentially on the calling thread, which is the scoring pool when
+ * <tt>path.scoring.parallelism</tt> is configured, and never on the common pool.
+ *
  * @author Darren S. White
  */
 @Component
@@ -31,20 +30,53 @@ public class SmartPriorities extends PathFinderAlgorithm {
   }
 
   /**
-   * Return a comparator for comparing {@link Quest}s.
+   * {@inheritDoc}
    *
-   * The order in which quests are compared is: priority, skill requirements, score, rewards.
+   * The order in which quests are compared is: no skill requirements and greater than normal
+   * priority, lowest skill requirements, highest score, highest rewards.
    *
-   * @see Comparators#noSkillRequirementsAndGreaterThanNormalPriority(Player)
-   * @see Comparators#scoring(Player, BiFunction)
+   * @see Player#getRemainingSkillRequirements(Quest, boolean)
+   * @see Player#getTotalRemainingSkillRequirements(Quest, boolean)
    * @see SmartPriorities#getQuestScore(Player, Quest)
+   * @see Player#getTotalQuestRewards(Quest)
    */
   @Override
-  protected Comparator<Quest> comparator(Player player) {
-    return Comparators.noSkillRequirementsAndGreaterThanNormalPriority(player)
-        .thenComparing(Comparators.remainingSkillRequirements(player))
-        .thenComparing(Comparators.scoring(player, this::getQuestScore))
-        .thenComparing(Comparators.rewards(player));
+  public QuestScore score(Player player, Quest quest) {
+    return new QuestScore(quest,
+        () -> player.getRemainingSkillRequirements(quest, true).isEmpty() && player
+            .getQuestPriority(quest).greaterThanNormal() ? 1 : 0,
+        () -> -player.getTotalRemainingSkillRequirements(quest, true),
+        () -> getQuestScore(player, quest), () -> player.getTotalQuestRewards(quest));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The xp rewards for the quest are also included, as these are used to calculate the xp gained
+   * towards a goal.
+   *
+   * @see SmartPriorities#getXpGainedTowardsGoal(Player, Map, Quest)
+   */
+  @Override
+  public Set<Skill> getScoreDependencies(Quest quest) {
+    Set<Skill> skills = super.getScoreDependencies(quest);
+
+    skills.addAll(quest.getRewards().getXp().keySet());
+
+    return skills;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * If there are any prioritised quests then the score for every quest is volatile, as the goal
+   * changes with every completed quest.
+   *
+   * @see SmartPriorities#getQuestScore(Player, Quest)
+   */
+  @Override
+  public boolean isVolatile(Player player, Quest quest) {
+    return super.isVolatile(player, quest) || !player.getPrioritisedQuests().isEmpty();
   }
 
   /**
@@ -52,7 +84,7 @@ public class SmartPriorities extends PathFinderAlgorithm {
    *
    * The score for a quest is calculated as "xp gained towards goal * priority weight".
    *
-   * The score is summed for each goal.
+   * The score is summed for each goal, in the order of the goals so the score is always the same.
    *
    * A goal is defined as a prioritised quest and its quest requirements (recursively).
    *
@@ -61,43 +93,48 @@ public class SmartPriorities extends PathFinderAlgorithm {
    * @param player the player
    * @param quest the quest to calculate the score for
    * @return the quest score
-   * @see Player#getPrioritisedQuests()
-   * @see SmartPriorities#getXpGainedTowardsGoal(Player, Quest, Quest)
+   * @see Player#getPrioritisedGoals()
+   * @see SmartPriorities#getXpGainedTowardsGoal(Player, Map, Quest)
    * @see QuestPriority#getWeight()
    */
   private double getQuestScore(Player player, Quest quest) {
-    if (player.getPrioritisedQuests().isEmpty()) {
+    Set<Quest> goals = player.getPrioritisedGoals();
+
+    if (goals.isEmpty()) {
       return 0;
     }
 
-    Set<Quest> prioritisedQuests = player.getPrioritisedQuests();
-    Set<Quest> priorityRequirements = prioritisedQuests.stream().map(
-        q -> q.getQuestRequirements(true).stream().map(QuestRequirement::getQuest)
-            .collect(Collectors.toSet())).flatMap(Collection::parallelStream)
-        .collect(Collectors.toSet());
-    Set<Quest> goal = Set.of(prioritisedQuests, priorityRequirements).stream()
-        .flatMap(Collection::parallelStream).collect(Collectors.toSet());
-
-    return goal.stream().mapToDouble(
-        priorityQuest -> getXpGainedTowardsGoal(player, quest, priorityQuest) * player
-            .getQuestPriority(priorityQuest).getWeight()).sum();
+    Map<Skill, Double> questRewards = player.getQuestRewards(quest);
+    double score = 0;
+
+    for (Quest goal : goals) {
+      score += getXpGainedTowardsGoal(player, questRewards, goal) * player.getQuestPriority(goal)
+          .getWeight();
+    }
+
+    return score;
   }
 
   /**
-   * Calculates the total xp gained from the given {@link Quest} which is also a {@link
+   * Calculates the total xp gained from the given {@link Quest} rewards which is also a {@link
    * SkillRequirement} for the specified goal.
    *
    * @param player the player
-   * @param quest the quest to calculate the amount of xp gained for
+   * @param questRewards the rewards of the quest to calculate the amount of xp gained for
    * @param goal the goal to reach
    * @return the amount of xp gained towards the goal
    */
-  private double getXpGainedTowardsGoal(Player player, Quest quest, Quest goal) {
-    Set<Skill> skillRequirements = player.getRemainingSkillRequirements(goal, true).stream()
-        .map(SkillRequirement::getSkill).collect(Collectors.toSet());
-    Map<Skill, Double> questRewards = player.getQuestRewards(quest);
+  private double getXpGainedTowardsGoal(Player player, Map<Skill, Double> questRewards,
+      Quest goal) {
+    Set<Skill> skills = EnumSet.noneOf(Skill.class);
+    double xp = 0;
+
+    for (SkillRequirement skillRequirement : player.getRemainingSkillRequirements(goal, true)) {
+      if (skills.add(skillRequirement.getSkill())) {
+        xp += questRewards.getOrDefault(skillRequirement.getSkill(), 0d);
+      }
+    }
 
-    return skillRequirements.stream().mapToDouble(skill -> questRewards.getOrDefault(skill, 0d))
-        .sum();
+    return xp;
   }
 }
@@ -0,0 +1,132 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link Component} for fetching skill data from the Hiscores over HTTP.
+ *
+ * A single {@link HttpClient} is shared by all requests so that connections are pooled. Every
+ * request is bounded by the connect and read timeouts.
+ *
+ * Each request is recorded by the <tt>hiscores.fetch</tt> timer, tagged with the <tt>outcome</tt>
+ * of either <tt>success</tt> or <tt>failure</tt>.
+ *
+ * @author Darren S. White
+ */
+@Component
+public class HiscoreClient {
+
+  private static final Logger LOG = LogManager.getLogger(HiscoreClient.class);
+  private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.withDelimiter(',');
+  private static final int STATUS_OK = 200;
+  private static final String FETCH_METER = "hiscores.fetch";
+
+  /**
+   * First row is total level, so skip it.
+   */
+  private static final int ROW_OFFSET = 1;
+
+  private final String url;
+  private final HttpClient httpClient;
+  private final Duration readTimeout;
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public HiscoreClient(@Value("${hiscores.url}") String url,
+      @Value("${hiscores.connect-timeout}") Duration connectTimeout,
+      @Value("${hiscores.read-timeout}") Duration readTimeout, MeterRegistry meterRegistry) {
+    this(url, HttpClient.newBuilder().connectTimeout(connectTimeout)
+        .followRedirects(Redirect.NORMAL).build(), readTimeout, meterRegistry);
+  }
+
+  HiscoreClient(String url, HttpClient httpClient, Duration readTimeout,
+      MeterRegistry meterRegistry) {
+    this.url = url;
+    this.httpClient = httpClient;
+    this.readTimeout = readTimeout;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Fetch skill xp data for the given username.
+   *
+   * The returned future completes exceptionally if the request fails, times out, or the response
+   * status is not <tt>200</tt>.
+   *
+   * @param name the username
+   * @return future map of xp for each skill
+   */
+  public CompletableFuture<Map<Skill, Double>> fetch(String name) {
+    LOG.debug("Fetching hiscores for player: {}...", name);
+
+    HttpRequest request = HttpRequest
+        .newBuilder(URI.create(String.format(url, URLEncoder.encode(name, StandardCharsets.UTF_8))))
+        .timeout(readTimeout).GET().build();
+    Timer.Sample sample = Timer.start(meterRegistry);
+
+    return httpClient.sendAsync(request, BodyHandlers.ofString()).thenApply(this::parse)
+        .whenComplete((skillXps, e) -> sample.stop(meterRegistry
+            .timer(FETCH_METER, "outcome", e == null ? "success" : "failure")));
+  }
+
+  /**
+   * Parse the skill xp data from the {@link HttpResponse}.
+   *
+   * @param response the response
+   * @return map of xp for each skill
+   * @throws UncheckedIOException if the response status is not ok or the body can not be parsed
+   */
+  private Map<Skill, Double> parse(HttpResponse<String> response) {
+    if (response.statusCode() != STATUS_OK) {
+      throw new UncheckedIOException(new IOException(
+          "Unexpected status " + response.statusCode() + " from: " + response.uri()));
+    }
+
+    Map<Skill, Double> skillXps = new EnumMap<>(Skill.class);
+
+    try {
+      List<CSVRecord> records = CSV_FORMAT.parse(new StringReader(response.body())).getRecords();
+
+      for (int i = ROW_OFFSET; i < Skill.values().length + 1; i++) {
+        Skill skill = Skill.getById(i);
+        CSVRecord r = records.get(i);
+
+        if (skill != null) {
+          double xp = Math.max(Skill.INITIAL_XPS.get(skill), Double.parseDouble(r.get(2)));
+
+          skillXps.put(skill, xp);
+        } else {
+          LOG.warn("Unknown skill with id: {}", i);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return skillXps;
+  }
+}
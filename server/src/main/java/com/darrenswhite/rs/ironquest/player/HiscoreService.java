@@ -1,79 +1,191 @@
 package com.darrenswhite.rs.ironquest.player;
 
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.EnumMap;
-import java.util.List;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * {@link Service} for retrieving skill data from the Hiscores.
  *
+ * Skill data is cached for each username. A cached entry is fresh for the time to live, after which
+ * it is still returned for the stale period while it is refreshed in the background. Once the stale
+ * period has passed the skill data is fetched again before returning.
+ *
+ * Concurrent requests for the same username share a single fetch. Failed fetches are not cached.
+ * The least recently used entries are evicted once there are more than the maximum number of
+ * entries.
+ *
  * @author Darren S. White
+ * @see HiscoreClient
  */
 @Service
 public class HiscoreService {
 
   private static final Logger LOG = LogManager.getLogger(HiscoreService.class);
-  private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.withDelimiter(',');
 
-  /**
-   * First row is total level, so skip it.
-   */
-  private static final int ROW_OFFSET = 1;
+  private final HiscoreClient hiscoreClient;
+  private final long ttlMillis;
+  private final long staleMillis;
+  private final int maximumSize;
+  private final Clock clock;
+  private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
 
-  private final String url;
+  @Autowired
+  public HiscoreService(HiscoreClient hiscoreClient, @Value("${hiscores.cache.ttl}") Duration ttl,
+      @Value("${hiscores.cache.stale}") Duration stale,
+      @Value("${hiscores.cache.maximum-size}") int maximumSize) {
+    this(hiscoreClient, ttl, stale, maximumSize, Clock.systemUTC());
+  }
 
-  public HiscoreService(@Value("${hiscores.url}") String url) {
-    this.url = url;
+  HiscoreService(HiscoreClient hiscoreClient, Duration ttl, Duration stale, int maximumSize,
+      Clock clock) {
+    this.hiscoreClient = hiscoreClient;
+    this.ttlMillis = ttl.toMillis();
+    this.staleMillis = stale.toMillis();
+    this.maximumSize = maximumSize;
+    this.clock = clock;
   }
 
   /**
    * Retrieve skill xp data for the given username.
    *
    * @param name the username
-   * @return map of xp for each skill
+   * @return unmodifiable map of xp for each skill, or an empty map if it could not be retrieved
    */
   public Map<Skill, Double> load(String name) {
-    Map<Skill, Double> skillXps = new EnumMap<>(Skill.class);
-
     LOG.debug("Loading hiscores for player: {}...", name);
 
     try {
-      String hiscoresUrl = String
-          .format(url, URLEncoder.encode(name, StandardCharsets.UTF_8.toString()));
+      return loadAsync(name).join();
+    } catch (CompletionException | CancellationException e) {
+      LOG.warn("Failed to load hiscores for player: {}", name, e.getCause());
+
+      return Collections.unmodifiableMap(new EnumMap<>(Skill.class));
+    }
+  }
+
+  /**
+   * Retrieve skill xp data for the given username without blocking, from the cache if possible.
+   *
+   * The returned future completes exceptionally if the skill data could not be retrieved. It is a
+   * copy of the shared future, so cancelling it does not affect other callers.
+   *
+   * @param name the username
+   * @return future unmodifiable map of xp for each skill
+   */
+  public CompletableFuture<Map<Skill, Double>> loadAsync(String name) {
+    String key = name.trim().toLowerCase(Locale.ROOT);
+    long now = clock.millis();
+    CompletableFuture<Map<Skill, Double>> fetch = new CompletableFuture<>();
 
-      try (InputStreamReader in = new InputStreamReader(new URL(hiscoresUrl).openStream())) {
-        CSVParser parser = CSV_FORMAT.parse(in);
-        List<CSVRecord> records = parser.getRecords();
+    Entry entry;
 
-        for (int i = ROW_OFFSET; i < Skill.values().length + 1; i++) {
-          Skill skill = Skill.getById(i);
-          CSVRecord r = records.get(i);
+    synchronized (entries) {
+      entry = entries.compute(key, (k, existing) -> {
+        if (existing == null || existing.isFailed() || now >= existing.loadedAt + ttlMillis
+            + staleMillis) {
+          return new Entry(fetch, now, null);
+        } else if (now >= existing.loadedAt + ttlMillis && existing.refresh == null
+            && existing.value.isDone()) {
+          return new Entry(existing.value, existing.loadedAt, fetch);
+        }
 
-          if (skill != null) {
-            double xp = Math.max(Skill.INITIAL_XPS.get(skill), Double.parseDouble(r.get(2)));
+        return existing;
+      });
 
-            skillXps.put(skill, xp);
-          } else {
-            LOG.warn("Unknown skill with id: {}", i);
+      evict();
+    }
+
+    if (entry.value == fetch) {
+      start(name, fetch);
+      fetch.whenComplete((skillXps, e) -> {
+        if (e != null) {
+          synchronized (entries) {
+            entries.remove(key, entry);
           }
         }
-      }
-    } catch (IOException e) {
-      LOG.warn("Failed to load hiscores for player: {}", name, e);
+      });
+    } else if (entry.refresh == fetch) {
+      LOG.debug("Refreshing stale hiscores for player: {}", name);
+      start(name, fetch);
+      fetch.whenComplete((skillXps, e) -> {
+        synchronized (entries) {
+          entries.computeIfPresent(key, (k, existing) -> existing.refresh != fetch ? existing
+              : e != null ? new Entry(existing.value, existing.loadedAt, null)
+                  : new Entry(fetch, clock.millis(), null));
+        }
+      });
     }
 
-    return skillXps;
+    return entry.value.copy();
+  }
+
+  /**
+   * Start fetching skill xp data for the username and complete the future with the result.
+   *
+   * @param name the username
+   * @param future the future to complete
+   */
+  private void start(String name, CompletableFuture<Map<Skill, Double>> future) {
+    try {
+      hiscoreClient.fetch(name).whenComplete((skillXps, e) -> {
+        if (e != null) {
+          future.completeExceptionally(e);
+        } else {
+          future.complete(Collections.unmodifiableMap(skillXps));
+        }
+      });
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Evict the least recently used entries until there are no more than the maximum number of
+   * entries.
+   *
+   * Entries are kept in access order, so each eviction removes the first entry in constant time.
+   * The caller must hold the lock on the entries.
+   */
+  private void evict() {
+    for (Iterator<Entry> iterator = entries.values().iterator();
+        entries.size() > maximumSize && iterator.hasNext(); ) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * The cached skill xp data for a username, the time it was loaded, and the refresh in progress.
+   */
+  private static final class Entry {
+
+    private final CompletableFuture<Map<Skill, Double>> value;
+    private final long loadedAt;
+    private final CompletableFuture<Map<Skill, Double>> refresh;
+
+    Entry(CompletableFuture<Map<Skill, Double>> value, long loadedAt,
+        CompletableFuture<Map<Skill, Double>> refresh) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+      this.refresh = refresh;
+    }
+
+    boolean isFailed() {
+      return value.isCompletedExceptionally();
+    }
   }
 }
@@ -5,14 +5,21 @@ import com.darrenswhite.rs.ironquest.action.LampAction;
 import com.darrenswhite.rs.ironquest.action.QuestAction;
 import com.darrenswhite.rs.ironquest.action.TrainAction;
 import com.darrenswhite.rs.ironquest.dto.PlayerDTO;
+import com.darrenswhite.rs.ironquest.dto.PlayerDeltaDTO;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalogue;
+import com.darrenswhite.rs.ironquest.quest.QuestRequirementClosure;
+import com.darrenswhite.rs.ironquest.quest.QuestTitleIndex;
 import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest;
+import com.darrenswhite.rs.ironquest.quest.requirement.MaxSkillRequirements;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
 import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
-import java.util.Collection;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -21,7 +28,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,26 +42,72 @@ import org.apache.logging.log4j.Logger;
 /**
  * A class representing a player.
  *
+ * The level of each skill, total level and combat level are maintained as xp is added, and the
+ * quest points are maintained as quests are completed, so none of them are recalculated when read.
+ *
+ * Copies are copy-on-write: the skill xp and quest progress are shared with the original player
+ * until either of them is modified.
+ *
+ * Every change to the skill xp, quest statuses or quest priorities increments the state version.
+ * The remaining xp requirements and the rewards for each quest, including lamp choices, are
+ * memoized for the current version so they are only computed once however many times the quests
+ * are compared. The prioritised goals are memoized separately, and only recomputed when the
+ * prioritised quests change.
+ *
  * @author Darren S. White
  */
 public class Player {
 
   private static final Logger LOG = LogManager.getLogger(Player.class);
+  private static final Skill[] SKILLS = Skill.values();
+  private static final Set<Skill> COMBAT_SKILLS = Collections.unmodifiableSet(EnumSet
+      .of(Skill.ATTACK, Skill.CONSTITUTION, Skill.DEFENCE, Skill.MAGIC, Skill.PRAYER, Skill.RANGED,
+          Skill.STRENGTH, Skill.SUMMONING));
 
   private final String name;
-  private final Map<Skill, Double> skillXps;
-  private final Map<Integer, QuestEntry> quests;
+  private final QuestProgress quests;
   private final Set<Skill> lampSkills;
   private final boolean ironman;
   private final boolean recommended;
+  private Map<Skill, Double> skillXps;
+  private int[] levels;
+  private boolean sharedSkillXps;
+  private int totalLevel;
+  private double combatLevel;
+  private int version;
+  private Memo memo;
+  private Goals goals;
 
   Player(Builder builder) {
     this.name = builder.name;
-    this.skillXps = builder.skillXps;
-    this.quests = createQuestEntries(builder.quests);
+    this.skillXps = new EnumMap<>(Skill.class);
+    this.levels = new int[SKILLS.length];
+    this.quests = new QuestProgress(
+        builder.catalogue != null ? builder.catalogue : new QuestCatalogue(builder.quests),
+        builder.quests);
     this.lampSkills = builder.lampSkills;
     this.ironman = builder.ironman;
     this.recommended = builder.recommended;
+
+    builder.skillXps.forEach(this::setSkillXp);
+  }
+
+  private Player(Player player) {
+    this.name = player.name;
+    this.skillXps = player.skillXps;
+    this.levels = player.levels;
+    this.sharedSkillXps = true;
+    this.totalLevel = player.totalLevel;
+    this.combatLevel = player.combatLevel;
+    this.version = player.version;
+    this.memo = player.memo;
+    this.goals = player.goals;
+    this.quests = player.quests.copy();
+    this.lampSkills = player.lampSkills;
+    this.ironman = player.ironman;
+    this.recommended = player.recommended;
+
+    player.sharedSkillXps = true;
   }
 
   /**
@@ -61,21 +120,21 @@ public class Player {
   }
 
   /**
-   * Returns the player xp for each {@link Skill}.
+   * Returns an unmodifiable view of the player xp for each {@link Skill}.
    *
    * @return map of skill xp
    */
   public Map<Skill, Double> getSkillXps() {
-    return skillXps;
+    return Collections.unmodifiableMap(skillXps);
   }
 
   /**
-   * Returns a {@link Set} of {@link Quest}s.
+   * Returns an unmodifiable view of the {@link Quest}s.
    *
    * @return set of quests
    */
   public Set<Quest> getQuests() {
-    return quests.values().stream().map(QuestEntry::getQuest).collect(Collectors.toSet());
+    return quests.getQuests();
   }
 
   /**
@@ -142,24 +201,48 @@ public class Player {
   }
 
   /**
-   * Returns a copy of this {@link Player}.
+   * Returns a DTO containing the changes from the previous {@link Player} to this player.
    *
-   * @return the new player instance
+   * Levels are only compared if either player has gained xp since they were copied, so this is much
+   * cheaper than creating a full DTO for consecutive states of the same player.
+   *
+   * @param previous the previous player
+   * @return the DTO
    */
-  public Player copy() {
-    Set<Quest> copiedQuests = quests.values().stream().map(QuestEntry::copy)
-        .map(QuestEntry::getQuest).collect(Collectors.toSet());
-
-    Player copy = new Builder().withName(name).withSkillXps(new EnumMap<>(skillXps))
-        .withQuests(copiedQuests).withLampSkills(new LinkedHashSet<>(lampSkills))
-        .withIronman(ironman).withRecommended(recommended).build();
+  public PlayerDeltaDTO createDeltaDTO(Player previous) {
+    Map<Skill, Integer> levels = new EnumMap<>(Skill.class);
+    int totalLevel = 0;
+    int combatLevel = 0;
+
+    if (this.levels != previous.levels) {
+      for (Skill skill : skillXps.keySet()) {
+        int levelChange = getLevel(skill) - previous.getLevel(skill);
+
+        if (levelChange != 0) {
+          levels.put(skill, levelChange);
+          totalLevel += levelChange;
+        }
+      }
 
-    for (Map.Entry<Integer, QuestEntry> entry : quests.entrySet()) {
-      copy.quests.get(entry.getKey()).setPriority(entry.getValue().getPriority());
-      copy.quests.get(entry.getKey()).setStatus(entry.getValue().getStatus());
+      combatLevel = (int) Math.floor(getCombatLevel()) - (int) Math
+          .floor(previous.getCombatLevel());
     }
 
-    return copy;
+    return new PlayerDeltaDTO.Builder().withLevels(levels)
+        .withQuestPoints(getQuestPoints() - previous.getQuestPoints()).withTotalLevel(totalLevel)
+        .withCombatLevel(combatLevel).build();
+  }
+
+  /**
+   * Returns a copy of this {@link Player}.
+   *
+   * The copy shares its state with this player until either of them is modified, so this is a
+   * constant time operation.
+   *
+   * @return the new player instance
+   */
+  public Player copy() {
+    return new Player(this);
   }
 
   /**
@@ -168,8 +251,13 @@ public class Player {
    * @return map of skill levels
    */
   public Map<Skill, Integer> getLevels() {
-    return skillXps.entrySet().stream()
-        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getKey().getLevelAt(e.getValue())));
+    Map<Skill, Integer> levels = new EnumMap<>(Skill.class);
+
+    for (Skill skill : skillXps.keySet()) {
+      levels.put(skill, getLevel(skill));
+    }
+
+    return levels;
   }
 
   /**
@@ -178,27 +266,25 @@ public class Player {
    * @return number of quest points
    */
   public int getQuestPoints() {
-    return getCompletedQuests().stream().mapToInt(q -> q.getRewards().getQuestPoints()).sum();
+    return quests.getQuestPoints();
   }
 
   /**
-   * Get all quests which are completed.
+   * Get an unmodifiable view of all quests which are completed.
    *
    * @return set of complete quests
    */
   public Set<Quest> getCompletedQuests() {
-    return quests.values().stream().filter(e -> e.getStatus() == QuestStatus.COMPLETED)
-        .map(QuestEntry::getQuest).collect(Collectors.toSet());
+    return quests.getCompletedQuests();
   }
 
   /**
-   * Get all quests which are not completed.
+   * Get an unmodifiable view of all quests which are not completed.
    *
    * @return set of incomplete quests
    */
   public Set<Quest> getIncompleteQuests() {
-    return quests.values().stream().filter(e -> e.getStatus() != QuestStatus.COMPLETED)
-        .map(QuestEntry::getQuest).collect(Collectors.toSet());
+    return quests.getIncompleteQuests();
   }
 
   /**
@@ -207,16 +293,26 @@ public class Player {
    * @return total level
    */
   public int getTotalLevel() {
-    return getLevels().values().stream().mapToInt(Integer::intValue).sum();
+    return totalLevel;
   }
 
   /**
-   * Calculates and returns the combat level.
+   * Returns the combat level.
    *
    * @return combat level
-   * @see <a href="https://runescape.fandom.com/wiki/Combat_level">Combat level formula</a>
+   * @see Player#calculateCombatLevel()
    */
   public double getCombatLevel() {
+    return combatLevel;
+  }
+
+  /**
+   * Calculates the combat level from the current levels.
+   *
+   * @return combat level
+   * @see <a href="https://runescape.fandom.com/wiki/Combat_level">Combat level formula</a>
+   */
+  private double calculateCombatLevel() {
     double attack = getLevel(Skill.ATTACK);
     double constitution = getLevel(Skill.CONSTITUTION);
     double defence = getLevel(Skill.DEFENCE);
@@ -240,7 +336,7 @@ public class Player {
    * @return the skill level
    */
   public int getLevel(Skill s) {
-    return s.getLevelAt(getXp(s));
+    return levels[s.ordinal()];
   }
 
   /**
@@ -263,7 +359,33 @@ public class Player {
     double newXp = skillXps.getOrDefault(s, 0d) + xp;
 
     if (newXp >= 0) {
-      skillXps.put(s, newXp);
+      setSkillXp(s, newXp);
+    }
+  }
+
+  /**
+   * Set the xp for the specified {@link Skill} and update the derived levels.
+   *
+   * The combat level is only recalculated if the level of a combat skill changes.
+   *
+   * @param s the skill
+   * @param xp the xp
+   */
+  private void setSkillXp(Skill s, double xp) {
+    int level = s.getLevelAt(xp);
+
+    ownSkillXps().put(s, xp);
+    version++;
+
+    int levelChange = level - levels[s.ordinal()];
+
+    if (levelChange != 0) {
+      levels[s.ordinal()] = level;
+      totalLevel += levelChange;
+
+      if (COMBAT_SKILLS.contains(s)) {
+        combatLevel = calculateCombatLevel();
+      }
     }
   }
 
@@ -274,7 +396,7 @@ public class Player {
    * @return <tt>true</tt> if the quest is marked as completed; <tt>false</tt> otherwise.
    */
   public boolean isQuestCompleted(Quest quest) {
-    return quests.get(quest.getId()).getStatus() == QuestStatus.COMPLETED;
+    return quests.isCompleted(quest);
   }
 
   /**
@@ -315,15 +437,45 @@ public class Player {
   /**
    * Load skill data from hiscores and quest data from runemetrics.
    *
+   * Both are requested concurrently and must be retrieved before the timeout. If either can not be
+   * retrieved in time, or fails, then the other is still loaded.
+   *
    * A non-empty username is required.
    *
    * @param hiscoreService the service used to retrieve hiscore data from
    * @param runeMetricsService the service used to retrieve runemetrics data from
+   * @param timeout the maximum time to wait for both
+   * @see Player#load(HiscoreService, RuneMetricsService, Duration, Consumer)
    */
-  public void load(HiscoreService hiscoreService, RuneMetricsService runeMetricsService) {
+  public void load(HiscoreService hiscoreService, RuneMetricsService runeMetricsService,
+      Duration timeout) {
+    load(hiscoreService, runeMetricsService, timeout, title -> {
+    });
+  }
+
+  /**
+   * Load skill data from hiscores and quest data from runemetrics.
+   *
+   * Both are requested concurrently and must be retrieved before the timeout. If either can not be
+   * retrieved in time, or fails, then the other is still loaded.
+   *
+   * A non-empty username is required.
+   *
+   * @param hiscoreService the service used to retrieve hiscore data from
+   * @param runeMetricsService the service used to retrieve runemetrics data from
+   * @param timeout the maximum time to wait for both
+   * @param unmatchedTitles listener for runemetrics quest titles which do not match any quest
+   */
+  public void load(HiscoreService hiscoreService, RuneMetricsService runeMetricsService,
+      Duration timeout, Consumer<String> unmatchedTitles) {
     if (name != null && !name.trim().isEmpty()) {
-      loadHiscores(hiscoreService);
-      loadQuests(runeMetricsService);
+      long deadline = System.nanoTime() + timeout.toNanos();
+      CompletableFuture<Map<Skill, Double>> hiscores = hiscoreService.loadAsync(name);
+      CompletableFuture<Set<RuneMetricsQuest>> runeMetrics = runeMetricsService.loadAsync(name);
+
+      await(hiscores, deadline, "hiscores").ifPresent(this::loadHiscores);
+      await(runeMetrics, deadline, "quests")
+          .ifPresent(rmQuests -> loadQuests(rmQuests, unmatchedTitles));
     }
   }
 
@@ -332,27 +484,26 @@ public class Player {
    * LampReward}.
    *
    * If this {@link Player} does meet the lamp requirements, then a {@link Set} of optimal {@link
-   * Skill}s to used for the new action. This set of optimal skills is added to {@link
-   * QuestEntry#getPreviousLampSkills()}.
+   * Skill}s to used for the new action. This set of optimal skills is added to the previous
+   * skill choices for the quest.
    *
    * If this {@link Player} does not meet the lamp requirements, then the lamp can be processed in
    * the future when requirements have been met.
    *
    * @return the lamp action
    * @see Player#getOptimalLampSkills(LampReward, Set)
-   * @see QuestEntry#getPreviousLampSkills()
    */
   public LampAction createLampAction(Quest quest, LampReward lampReward) {
     Set<Skill> optimalSkills = new HashSet<>();
     boolean future = true;
 
     if (lampReward.meetsRequirements(this)) {
-      Set<Set<Skill>> previous = getQuestEntry(quest).getPreviousLampSkills();
+      Set<Set<Skill>> previous = quests.getPreviousLampSkills(quest);
 
       optimalSkills = getOptimalLampSkills(lampReward, previous);
       future = false;
 
-      previous.add(optimalSkills);
+      quests.addPreviousLampSkills(quest, optimalSkills);
     }
 
     return new LampAction(this, future, quest, lampReward, optimalSkills);
@@ -366,7 +517,8 @@ public class Player {
    * @see Player#setQuestPriority(int, QuestPriority)
    */
   public void setQuestPriority(Quest quest, QuestPriority priority) {
-    setQuestPriority(quest.getId(), priority);
+    quests.setPriority(quest, priority);
+    version++;
   }
 
   /**
@@ -374,10 +526,10 @@ public class Player {
    *
    * @param questId the id of quest
    * @param priority the priority
-   * @see QuestEntry#setPriority(QuestPriority)
+   * @throws IllegalArgumentException if there is no quest with the id
    */
   public void setQuestPriority(int questId, QuestPriority priority) {
-    quests.get(questId).setPriority(priority);
+    setQuestPriority(getQuest(questId), priority);
   }
 
   /**
@@ -388,7 +540,7 @@ public class Player {
    * @see Player#getQuestPriority(int)
    */
   public QuestPriority getQuestPriority(Quest quest) {
-    return getQuestPriority(quest.getId());
+    return quests.getPriority(quest);
   }
 
   /**
@@ -396,10 +548,10 @@ public class Player {
    *
    * @param questId the id of quest
    * @return the priority
-   * @see QuestEntry#getPriority()
+   * @throws IllegalArgumentException if there is no quest with the id
    */
   public QuestPriority getQuestPriority(int questId) {
-    return quests.get(questId).getPriority();
+    return getQuestPriority(getQuest(questId));
   }
 
   /**
@@ -410,7 +562,8 @@ public class Player {
    * @see Player#setQuestStatus(int, QuestStatus)
    */
   public void setQuestStatus(Quest quest, QuestStatus status) {
-    setQuestStatus(quest.getId(), status);
+    quests.setStatus(quest, status);
+    version++;
   }
 
   /**
@@ -418,10 +571,10 @@ public class Player {
    *
    * @param questId the id of quest
    * @param status the status
-   * @see QuestEntry#setStatus(QuestStatus)
+   * @throws IllegalArgumentException if there is no quest with the id
    */
   public void setQuestStatus(int questId, QuestStatus status) {
-    quests.get(questId).setStatus(status);
+    setQuestStatus(getQuest(questId), status);
   }
 
   /**
@@ -432,7 +585,7 @@ public class Player {
    * @see Player#getQuestStatus(int)
    */
   public QuestStatus getQuestStatus(Quest quest) {
-    return getQuestStatus(quest.getId());
+    return quests.getStatus(quest);
   }
 
   /**
@@ -440,10 +593,10 @@ public class Player {
    *
    * @param questId the id of quest
    * @return the status
-   * @see QuestEntry#getStatus()
+   * @throws IllegalArgumentException if there is no quest with the id
    */
   public QuestStatus getQuestStatus(int questId) {
-    return quests.get(questId).getStatus();
+    return getQuestStatus(getQuest(questId));
   }
 
   /**
@@ -481,15 +634,7 @@ public class Player {
     }
 
     if (optimalLampSkills == null) {
-      Set<Quest> prioritisedQuests = getPrioritisedQuests();
-      Map<Skill, Double> xpRequirements;
-
-      if (prioritisedQuests.isEmpty()) {
-        xpRequirements = getRemainingXpRequirements(getIncompleteQuests());
-      } else {
-        xpRequirements = getRemainingXpRequirements(prioritisedQuests);
-      }
-
+      Map<Skill, Double> xpRequirements = getRemainingXpRequirements();
       Map<Set<Skill>, Double> xpChoicesRequirements = lampSkillChoices.stream().collect(Collectors
           .toMap(s -> s,
               s -> s.stream().mapToDouble(sk -> xpRequirements.getOrDefault(sk, 0d)).sum()));
@@ -514,8 +659,13 @@ public class Player {
    * @return total skill level requirements remaining
    */
   public double getTotalRemainingSkillRequirements(Quest quest, boolean recursive) {
-    return getRemainingSkillRequirements(quest, recursive).stream()
-        .mapToDouble(sr -> sr.getSkill().getXpAtLevel(sr.getLevel()) - getXp(sr.getSkill())).sum();
+    double total = 0;
+
+    for (SkillRequirement sr : getRemainingSkillRequirements(quest, recursive)) {
+      total += sr.getSkill().getXpAtLevel(sr.getLevel()) - getXp(sr.getSkill());
+    }
+
+    return total;
   }
 
   /**
@@ -532,26 +682,47 @@ public class Player {
   /**
    * Get remaining {@link SkillRequirement}s to complete this {@link Quest}.
    *
+   * Only the highest requirement for each {@link Skill} is returned. When recursive and none of
+   * the quest requirements are completed, the precomputed {@link QuestRequirementClosure} is
+   * compared against the player's levels in a single pass. Otherwise, the requirements of every
+   * remaining quest requirement are accumulated once each.
+   *
    * @param recursive <tt>true</tt> to get requirements recursively; <tt>false</tt> otherwise
-   * @return remaining skill requirements
+   * @return unmodifiable set of remaining skill requirements
+   * @see MaxSkillRequirements
+   * @see QuestCatalogue#getQuestRequirementClosure(Quest, boolean, boolean)
    */
   public Set<SkillRequirement> getRemainingSkillRequirements(Quest quest, boolean recursive) {
-    Set<SkillRequirement> remainingSkillRequirements = new LinkedHashSet<>();
+    MaxSkillRequirements remainingSkillRequirements = new MaxSkillRequirements();
 
-    remainingSkillRequirements = SkillRequirement.merge(remainingSkillRequirements,
-        quest.getRequirements().getSkills().stream().filter(sr -> !sr.test(this))
-            .collect(Collectors.toCollection(LinkedHashSet::new)));
+    if (!recursive) {
+      addRemainingSkillRequirements(quest, remainingSkillRequirements);
 
-    if (recursive) {
-      Set<Quest> remainingQuestRequirements = getRemainingQuestRequirements(quest, true);
+      return remainingSkillRequirements.asSet();
+    }
+
+    QuestCatalogue catalogue = quests.getCatalogue();
+    QuestRequirementClosure closure = catalogue
+        .getQuestRequirementClosure(quest, ironman, recommended);
+
+    if (!quests.isAnyCompleted(closure)) {
+      for (SkillRequirement sr : closure.getSkillRequirements()) {
+        if (!sr.test(this)) {
+          remainingSkillRequirements.add(sr);
+        }
+      }
+    } else {
+      addRemainingSkillRequirements(quest, remainingSkillRequirements);
 
-      for (Quest questRequirement : remainingQuestRequirements) {
-        remainingSkillRequirements = SkillRequirement.merge(remainingSkillRequirements,
-            getRemainingSkillRequirements(questRequirement, true));
+      for (int ordinal = closure.nextQuestRequirement(0); ordinal >= 0;
+          ordinal = closure.nextQuestRequirement(ordinal + 1)) {
+        if (!quests.isCompleted(ordinal)) {
+          addRemainingSkillRequirements(catalogue.getQuest(ordinal), remainingSkillRequirements);
+        }
       }
     }
 
-    return remainingSkillRequirements;
+    return remainingSkillRequirements.asSet();
   }
 
   /**
@@ -567,10 +738,104 @@ public class Player {
   /**
    * Returns the skill xp and lamp rewards from the specified {@link Quest}.
    *
+   * The rewards are memoized until the state of this player changes.
+   *
    * @param quest the quest
-   * @return the total rewards
+   * @return unmodifiable map of the total rewards
    */
   public Map<Skill, Double> getQuestRewards(Quest quest) {
+    Memo current = getMemo();
+    Map<Skill, Double> rewards = current.questRewards.get(quest);
+
+    if (rewards == null) {
+      rewards = Collections.unmodifiableMap(createQuestRewards(quest));
+      current.questRewards.putIfAbsent(quest, rewards);
+    }
+
+    return rewards;
+  }
+
+  /**
+   * Returns an unmodifiable view of the {@link Quest}s which have been prioritised. This is all
+   * quests which have a priority greater than normal and are not completed.
+   *
+   * @return a set of prioritised quests
+   * @see QuestPriority#greaterThanNormal()
+   */
+  public Set<Quest> getPrioritisedQuests() {
+    return quests.getPrioritisedQuests();
+  }
+
+  /**
+   * Returns the prioritised goals. A goal is a prioritised {@link Quest} or one of its {@link
+   * QuestRequirement}s (recursively).
+   *
+   * The goals are memoized until the prioritised quests change, either by changing the priority of
+   * a quest or by completing a prioritised quest.
+   *
+   * @return unmodifiable set of goals, in the order of the prioritised quests
+   * @see Player#getPrioritisedQuests()
+   */
+  public Set<Quest> getPrioritisedGoals() {
+    Goals current = goals;
+    int prioritisedVersion = quests.getPrioritisedVersion();
+
+    if (current == null || current.prioritisedVersion != prioritisedVersion) {
+      Set<Quest> prioritisedGoals = new LinkedHashSet<>();
+
+      for (Quest prioritisedQuest : getPrioritisedQuests()) {
+        prioritisedGoals.add(prioritisedQuest);
+
+        for (QuestRequirement questRequirement : prioritisedQuest.getQuestRequirements(true)) {
+          prioritisedGoals.add(questRequirement.getQuest());
+        }
+      }
+
+      current = new Goals(prioritisedVersion, Collections.unmodifiableSet(prioritisedGoals));
+      goals = current;
+    }
+
+    return current.quests;
+  }
+
+  /**
+   * Returns the {@link Quest} with the given id.
+   *
+   * @param questId the id of the quest
+   * @return the quest
+   * @throws IllegalArgumentException if there is no quest with the id
+   */
+  private Quest getQuest(int questId) {
+    Quest quest = quests.getQuest(questId);
+
+    if (quest == null) {
+      throw new IllegalArgumentException("Unknown quest id: " + questId);
+    }
+
+    return quest;
+  }
+
+  /**
+   * Creates a {@link TrainAction} to be processed for the specified {@link SkillRequirement}.
+   *
+   * @param skillRequirement the skill requirement
+   * @return the train action
+   */
+  private TrainAction createTrainAction(SkillRequirement skillRequirement) {
+    Skill skill = skillRequirement.getSkill();
+    double currentXp = getXp(skill);
+    double requirementXp = skill.getXpAtLevel(skillRequirement.getLevel());
+
+    return new TrainAction(this, skill, currentXp, requirementXp);
+  }
+
+  /**
+   * Returns the skill xp and lamp rewards from the specified {@link Quest}.
+   *
+   * @param quest the quest
+   * @return the total rewards
+   */
+  private Map<Skill, Double> createQuestRewards(Quest quest) {
     Map<Skill, Double> rewards = new EnumMap<>(Skill.class);
     Set<Set<Skill>> previousLampSkills = new HashSet<>();
 
@@ -589,29 +854,43 @@ public class Player {
   }
 
   /**
-   * Returns a {@link Set<Quest>} which have been prioritised. This is all quests which have a
-   * priority greater than normal and are not completed.
+   * Returns the {@link Memo} for the current state version, creating a new one if the state has
+   * changed since it was last used.
    *
-   * @return a set of prioritised quests
-   * @see QuestPriority#greaterThanNormal()
+   * @return the memo
    */
-  public Set<Quest> getPrioritisedQuests() {
-    return getIncompleteQuests().stream()
-        .filter(quest -> getQuestPriority(quest).greaterThanNormal()).collect(Collectors.toSet());
+  private Memo getMemo() {
+    Memo current = memo;
+
+    if (current == null || current.version != version) {
+      current = new Memo(version);
+      memo = current;
+    }
+
+    return current;
   }
 
   /**
-   * Creates a {@link TrainAction} to be processed for the specified {@link SkillRequirement}.
+   * Returns the xp required for each {@link Skill} needed to complete the prioritised quests, or
+   * all incomplete quests if none are prioritised.
    *
-   * @param skillRequirement the skill requirement
-   * @return the train action
+   * The requirements are memoized until the state of this player changes.
+   *
+   * @return unmodifiable map of xp required for each skill
    */
-  private TrainAction createTrainAction(SkillRequirement skillRequirement) {
-    Skill skill = skillRequirement.getSkill();
-    double currentXp = getXp(skill);
-    double requirementXp = skill.getXpAtLevel(skillRequirement.getLevel());
+  private Map<Skill, Double> getRemainingXpRequirements() {
+    Memo current = getMemo();
+    Map<Skill, Double> xpRequirements = current.remainingXpRequirements;
 
-    return new TrainAction(this, skill, currentXp, requirementXp);
+    if (xpRequirements == null) {
+      Set<Quest> prioritisedQuests = getPrioritisedQuests();
+
+      xpRequirements = Collections.unmodifiableMap(getRemainingXpRequirements(
+          prioritisedQuests.isEmpty() ? getIncompleteQuests() : prioritisedQuests));
+      current.remainingXpRequirements = xpRequirements;
+    }
+
+    return xpRequirements;
   }
 
   /**
@@ -622,56 +901,91 @@ public class Player {
    * @return xp required for each skill
    */
   private Map<Skill, Double> getRemainingXpRequirements(Set<Quest> quests) {
-    Set<SkillRequirement> maxRequirements = getRemainingSkillRequirements(quests);
+    MaxSkillRequirements maxRequirements = new MaxSkillRequirements();
+    Map<Skill, Double> xpRequirements = new EnumMap<>(Skill.class);
+
+    for (Quest quest : quests) {
+      addRemainingSkillRequirements(quest, maxRequirements);
+    }
 
-    return maxRequirements.stream().collect(Collectors.toMap(SkillRequirement::getSkill, sr -> {
+    for (SkillRequirement sr : maxRequirements.asSet()) {
       Skill skill = sr.getSkill();
 
-      return skill.getXpAtLevel(sr.getLevel()) - getXp(skill);
-    }, Math::max));
+      xpRequirements.put(skill, skill.getXpAtLevel(sr.getLevel()) - getXp(skill));
+    }
+
+    return xpRequirements;
   }
 
   /**
-   * Returns the highest {@link SkillRequirement}s required to complete the given quests.
+   * Add the {@link SkillRequirement}s of the {@link Quest} which are not met to the accumulated
+   * requirements.
    *
-   * @return the maximum skill requirements for all quests
-   * @see SkillRequirement#merge(Collection, Collection)
+   * @param quest the quest
+   * @param requirements the accumulated requirements
    */
-  private Set<SkillRequirement> getRemainingSkillRequirements(Set<Quest> quests) {
-    Set<SkillRequirement> requirements = new HashSet<>();
+  private void addRemainingSkillRequirements(Quest quest, MaxSkillRequirements requirements) {
+    for (SkillRequirement sr : quest.getRequirements().getSkills()) {
+      if (!sr.test(this)) {
+        requirements.add(sr);
+      }
+    }
+  }
 
-    for (Quest quest : quests) {
-      requirements = SkillRequirement
-          .merge(requirements, getRemainingSkillRequirements(quest, false));
+  /**
+   * Wait for the future to complete until the deadline.
+   *
+   * @param future the future to wait for
+   * @param deadline the deadline, as a {@link System#nanoTime()} value
+   * @param description description of the data being loaded, used for logging
+   * @param <T> the type of data being loaded
+   * @return the data, or empty if it failed or was not retrieved before the deadline
+   */
+  private <T> Optional<T> await(CompletableFuture<T> future, long deadline, String description) {
+    try {
+      long timeout = Math.max(0, deadline - System.nanoTime());
+
+      return Optional.of(future.get(timeout, TimeUnit.NANOSECONDS));
+    } catch (TimeoutException e) {
+      LOG.warn("Timed out loading {} for player: {}", description, name);
+    } catch (ExecutionException | CancellationException e) {
+      LOG.warn("Failed to load {} for player: {}", description, name, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
 
-    return requirements;
+    return Optional.empty();
   }
 
   /**
    * Load skill xp data from the hiscores.
    *
-   * @param hiscoreService the hiscore service to retrieve data from
+   * @param skillXps the skill xp data retrieved from the hiscores
    */
-  private void loadHiscores(HiscoreService hiscoreService) {
-    skillXps.putAll(hiscoreService.load(name));
+  private void loadHiscores(Map<Skill, Double> skillXps) {
+    skillXps.forEach(this::setSkillXp);
   }
 
   /**
    * Load quest status data from the runemetrics.
    *
-   * @param runeMetricsService the runemetrics service to retrieve data from
+   * Titles are found using the {@link QuestTitleIndex}. Quests which are found but have been
+   * filtered out for this player are ignored.
+   *
+   * @param rmQuests the quest data retrieved from runemetrics
+   * @param unmatchedTitles listener for titles which do not match any quest
    */
-  private void loadQuests(RuneMetricsService runeMetricsService) {
-    Set<RuneMetricsQuest> rmQuests = runeMetricsService.load(name);
+  private void loadQuests(Set<RuneMetricsQuest> rmQuests, Consumer<String> unmatchedTitles) {
+    QuestTitleIndex titleIndex = quests.getCatalogue().getTitleIndex();
 
     for (RuneMetricsQuest rmq : rmQuests) {
       String title = rmq.getTitle();
-      Optional<QuestEntry> entry = quests.values().stream().filter(
-          e -> e.getQuest().getTitle().equalsIgnoreCase(title) || e.getQuest().getDisplayName()
-              .equalsIgnoreCase(title)).findAny();
+      Optional<Quest> quest = titleIndex.find(title);
 
-      if (entry.isPresent()) {
+      if (quest.isEmpty()) {
+        LOG.debug("Failed to find RuneMetricsQuest: {}", title);
+        unmatchedTitles.accept(title);
+      } else if (quests.getQuests().contains(quest.get())) {
         QuestStatus status;
         switch (rmq.getStatus()) {
           case COMPLETED:
@@ -686,34 +1000,55 @@ public class Player {
             break;
         }
 
-        entry.get().setStatus(status);
-      } else {
-        LOG.warn("Failed to find RuneMetricsQuest: {}", title);
+        setQuestStatus(quest.get(), status);
       }
     }
   }
 
   /**
-   * Create a {@link Map} of {@link QuestEntry}s for the given {@link Quest}s.
-   *
-   * The key is the {@link Quest} id and the value is the {@link QuestEntry}.
+   * Returns the skill xp map, copying it first if it is shared with another {@link Player}.
    *
-   * @param quests the quests to create entries for
-   * @return map of quest entries
+   * @return map of skill xp which can be modified
    */
-  private Map<Integer, QuestEntry> createQuestEntries(Set<Quest> quests) {
-    return quests.stream().map(QuestEntry::new)
-        .collect(Collectors.toMap(entry -> entry.getQuest().getId(), Function.identity()));
+  private Map<Skill, Double> ownSkillXps() {
+    if (sharedSkillXps) {
+      skillXps = new EnumMap<>(skillXps);
+      levels = levels.clone();
+      sharedSkillXps = false;
+    }
+
+    return skillXps;
   }
 
   /**
-   * Returns the {@link QuestEntry} for the specified {@link Quest}.
+   * Values derived from the state of a {@link Player} with a specific version.
    *
-   * @param quest the quest to find the entry for
-   * @return the quest entry or <tt>null</tt> if not found
+   * A memo may be shared with copies of the player until either of them changes, so it must be
+   * safe to populate concurrently.
    */
-  private QuestEntry getQuestEntry(Quest quest) {
-    return quests.get(quest.getId());
+  private static final class Memo {
+
+    private final int version;
+    private final Map<Quest, Map<Skill, Double>> questRewards = new ConcurrentHashMap<>();
+    private volatile Map<Skill, Double> remainingXpRequirements;
+
+    Memo(int version) {
+      this.version = version;
+    }
+  }
+
+  /**
+   * The prioritised goals of a {@link Player} with a specific prioritised version.
+   */
+  private static final class Goals {
+
+    private final int prioritisedVersion;
+    private final Set<Quest> quests;
+
+    Goals(int prioritisedVersion, Set<Quest> quests) {
+      this.prioritisedVersion = prioritisedVersion;
+      this.quests = quests;
+    }
   }
 
   public static class Builder {
@@ -724,6 +1059,7 @@ public class Player {
     private Set<Skill> lampSkills = new LinkedHashSet<>();
     private boolean ironman = false;
     private boolean recommended = false;
+    private QuestCatalogue catalogue;
 
     public Builder withName(String name) {
       this.name = name;
@@ -755,6 +1091,11 @@ public class Player {
       return this;
     }
 
+    public Builder withCatalogue(QuestCatalogue catalogue) {
+      this.catalogue = catalogue;
+      return this;
+    }
+
     public Player build() {
       return new Player(this);
     }
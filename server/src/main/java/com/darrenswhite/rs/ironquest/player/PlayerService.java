@@ -1,17 +1,19 @@
 package com.darrenswhite.rs.ironquest.player;
 
-import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.QuestAccessFilter;
 import com.darrenswhite.rs.ironquest.quest.QuestRepository;
 import com.darrenswhite.rs.ironquest.quest.QuestTypeFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -23,17 +25,26 @@ import org.springframework.stereotype.Service;
 public class PlayerService {
 
   private static final Logger LOG = LogManager.getLogger(PlayerService.class);
+  private static final String CREATE_METER = "player.create";
+  private static final String UNMATCHED_TITLES_METER = "runemetrics.quests.unmatched";
 
   private final QuestRepository questRepository;
   private final HiscoreService hiscoreService;
   private final RuneMetricsService runeMetricsService;
+  private final Duration loadTimeout;
+  private final MeterRegistry meterRegistry;
+  private final Counter unmatchedTitles;
 
   @Autowired
   public PlayerService(QuestRepository questRepository, HiscoreService hiscoreService,
-      RuneMetricsService runeMetricsService) {
+      RuneMetricsService runeMetricsService,
+      @Value("${player.load-timeout}") Duration loadTimeout, MeterRegistry meterRegistry) {
     this.questRepository = questRepository;
     this.hiscoreService = hiscoreService;
     this.runeMetricsService = runeMetricsService;
+    this.loadTimeout = loadTimeout;
+    this.meterRegistry = meterRegistry;
+    this.unmatchedTitles = meterRegistry.counter(UNMATCHED_TITLES_METER);
   }
 
   /**
@@ -60,6 +71,10 @@ public class PlayerService {
    * Quests will be filtered, prioritised and added to the player. Player data is loaded from the
    * hiscores and runemetrics.
    *
+   * Each player created is recorded by the <tt>player.create</tt> timer. Runemetrics quest titles
+   * which do not match any quest are counted by the <tt>runemetrics.quests.unmatched</tt> counter
+   * and logged.
+   *
    * @param name player name to load data for; can be null
    * @param accessFilter filter quests by access
    * @param typeFilter filter quests by type
@@ -68,119 +83,39 @@ public class PlayerService {
    * otherwise.
    * @param lampSkills set of skills to use on lamps
    * @param questPriorities prioritise quests by id
-   * @see Player#load(HiscoreService, RuneMetricsService)
+   * @see Player#load(HiscoreService, RuneMetricsService, Duration, Consumer)
    */
   public Player createPlayer(String name, QuestAccessFilter accessFilter,
       QuestTypeFilter typeFilter, boolean ironman, boolean recommended, Set<Skill> lampSkills,
       Map<Integer, QuestPriority> questPriorities) {
-
-    LOG.debug("Creating player profile: {}", name);
-
-    Set<Quest> filteredQuests = getFilteredQuests(accessFilter, typeFilter);
-    Player player = new Player.Builder().withName(name).withIronman(ironman)
-        .withRecommended(recommended).withLampSkills(lampSkills).withQuests(filteredQuests).build();
-
-    questPriorities.forEach(player::setQuestPriority);
-
-    player.load(hiscoreService, runeMetricsService);
-
-    return player;
+    return meterRegistry.timer(CREATE_METER).record(
+        () -> doCreatePlayer(name, accessFilter, typeFilter, ironman, recommended, lampSkills,
+            questPriorities));
   }
 
-
   /**
-   * Create a {@link Set} of entries for the quests.
-   *
-   * @param accessFilter the access filter for the quests
-   * @param typeFilter the type filter for the quests
-   * @return set of quest entries
-   */
-  private Set<Quest> getFilteredQuests(QuestAccessFilter accessFilter, QuestTypeFilter typeFilter) {
-    Predicate<Quest> accessAndTypeFilter = questMatchesAccessFilter(accessFilter)
-        .and(questMatchesTypeFilter(typeFilter));
-    Set<Integer> questRequirements = getQuestRequirements(accessAndTypeFilter);
-
-    return questRepository.getQuests().stream()
-        .filter(accessAndTypeFilter.or(questIsRequirement(questRequirements)))
-        .collect(Collectors.toSet());
-  }
-
-  /**
-   * Returns a {@link Predicate} used to test if a {@link Quest} matches the specified {@link
-   * QuestTypeFilter}.
-   *
-   * @return predicate to test if a quest matches the type filter
-   * @throws IllegalArgumentException for invalid quest types
-   */
-  private Predicate<Quest> questMatchesTypeFilter(QuestTypeFilter typeFilter) {
-    return quest -> {
-      boolean valid;
-
-      switch (quest.getType()) {
-        case QUEST:
-          valid = typeFilter.isQuests();
-          break;
-        case MINIQUEST:
-          valid = typeFilter.isMiniquests();
-          break;
-        case SAGA:
-          valid = typeFilter.isSagas();
-          break;
-        default:
-          throw new IllegalArgumentException("Unknown quest type: " + quest.getType());
-      }
-
-      return valid;
-    };
-  }
-
-  /**
-   * Returns a {@link Predicate} used to test if a {@link Quest} matches the specified {@link
-   * QuestAccessFilter}.
+   * Create a {@link Player} from the specified parameters.
    *
-   * @return predicate to test if a quest matches the type filter
-   * @throws IllegalArgumentException for invalid quest access
+   * @see PlayerService#createPlayer(String, QuestAccessFilter, QuestTypeFilter, boolean, boolean,
+   * Set, Map)
    */
-  private Predicate<Quest> questMatchesAccessFilter(QuestAccessFilter accessFilter) {
-    return quest -> {
-      boolean valid;
+  private Player doCreatePlayer(String name, QuestAccessFilter accessFilter,
+      QuestTypeFilter typeFilter, boolean ironman, boolean recommended, Set<Skill> lampSkills,
+      Map<Integer, QuestPriority> questPriorities) {
+    LOG.debug("Creating player profile: {}", name);
 
-      switch (quest.getAccess()) {
-        case FREE:
-          valid = accessFilter.isFree();
-          break;
-        case MEMBERS:
-          valid = accessFilter.isMembers();
-          break;
-        default:
-          throw new IllegalArgumentException("Unknown quest access: " + quest.getAccess());
-      }
+    Player player = new Player.Builder().withName(name).withIronman(ironman)
+        .withRecommended(recommended).withLampSkills(lampSkills)
+        .withQuests(questRepository.getQuests(accessFilter, typeFilter))
+        .withCatalogue(questRepository.getCatalogue()).build();
 
-      return valid;
-    };
-  }
+    questPriorities.forEach(player::setQuestPriority);
 
-  /**
-   * Returns a {@link Predicate} used to test if a {@link Quest} is a required quest specified by
-   * the {@link Set} of ids.
-   *
-   * @param questRequirements the ids of quests required
-   * @return predicate to test if a quest is required for another quest
-   */
-  private Predicate<Quest> questIsRequirement(Set<Integer> questRequirements) {
-    return quest -> questRequirements.contains(quest.getId());
-  }
+    player.load(hiscoreService, runeMetricsService, loadTimeout, title -> {
+      LOG.warn("Unmatched runemetrics quest title: {}", title);
+      unmatchedTitles.increment();
+    });
 
-  /**
-   * Returns a {@link Set} of {@link Quest} ids of all quest requirements, excluding filtered
-   * quests.
-   *
-   * @param questFilter predicate to filter quests
-   * @return set of quest ids
-   */
-  private Set<Integer> getQuestRequirements(Predicate<Quest> questFilter) {
-    return questRepository.getQuests().stream().filter(questFilter)
-        .flatMap(quest -> quest.getQuestRequirements(true).stream())
-        .map(qr -> qr.getQuest().getId()).collect(Collectors.toSet());
+    return player;
   }
 }
@@ -1,7 +1,9 @@
 package com.darrenswhite.rs.ironquest.player;
 
+import com.darrenswhite.rs.ironquest.quest.Quest;
+
 /**
- * An enum representing the priority of a {@link QuestEntry}.
+ * An enum representing the priority of a {@link Quest} for a {@link Player}.
  *
  * @author Darren S. White
  */
@@ -0,0 +1,487 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalogue;
+import com.darrenswhite.rs.ironquest.quest.QuestRequirementClosure;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The progress of a {@link Player} for each of their {@link Quest}s.
+ *
+ * The quests themselves, and their ordinals and requirements, are held by the shared {@link
+ * QuestCatalogue}. The progress is only an overlay of the catalogue: the {@link QuestStatus} and
+ * {@link QuestPriority} of each quest are stored as primitive arrays indexed by ordinal, and the
+ * previous lamp skill choices are only stored for quests which have any. The completed and
+ * prioritised quests are tracked as a {@link BitSet} of ordinals and the total quest points are
+ * maintained as the status of each quest changes. The prioritised version is incremented whenever
+ * the set of prioritised quests changes.
+ *
+ * Copies are copy-on-write: a copy shares all state with the original until either of them is
+ * modified.
+ *
+ * All {@link Set}s returned are unmodifiable views which reflect any later changes.
+ *
+ * @author Darren S. White
+ */
+final class QuestProgress {
+
+  private static final QuestStatus[] STATUSES = QuestStatus.values();
+  private static final QuestPriority[] PRIORITIES = QuestPriority.values();
+
+  private final QuestCatalogue catalogue;
+  private final BitSet quests;
+  private final Set<Quest> questsView;
+  private final Set<Quest> completedView;
+  private final Set<Quest> incompleteView;
+  private final Set<Quest> prioritisedView;
+  private byte[] statuses;
+  private byte[] priorities;
+  private Map<Integer, Set<Set<Skill>>> previousLampSkills;
+  private BitSet completed;
+  private BitSet prioritised;
+  private int questPoints;
+  private int prioritisedVersion;
+  private boolean shared;
+
+  /**
+   * Create a new {@link QuestProgress} for the given {@link Quest}s, which are all not started and
+   * have normal priority.
+   *
+   * @param catalogue the catalogue containing all of the quests
+   * @param quests the quests
+   * @throws IllegalArgumentException if any quest is not in the catalogue
+   */
+  QuestProgress(QuestCatalogue catalogue, Collection<Quest> quests) {
+    this.catalogue = catalogue;
+    this.quests = new BitSet(catalogue.size());
+    this.statuses = new byte[catalogue.size()];
+    this.priorities = new byte[catalogue.size()];
+    this.previousLampSkills = new HashMap<>();
+    this.completed = new BitSet(catalogue.size());
+    this.prioritised = new BitSet(catalogue.size());
+
+    for (Quest quest : quests) {
+      this.quests.set(catalogue.getOrdinal(quest));
+    }
+
+    Arrays.fill(statuses, (byte) QuestStatus.NOT_STARTED.ordinal());
+    Arrays.fill(priorities, (byte) QuestPriority.NORMAL.ordinal());
+
+    this.questsView = new QuestView(() -> this.quests, null);
+    this.completedView = new QuestView(() -> completed, null);
+    this.incompleteView = new QuestView(() -> this.quests, () -> completed);
+    this.prioritisedView = new QuestView(() -> prioritised, () -> completed);
+  }
+
+  private QuestProgress(QuestProgress progress) {
+    this.catalogue = progress.catalogue;
+    this.quests = progress.quests;
+    this.statuses = progress.statuses;
+    this.priorities = progress.priorities;
+    this.previousLampSkills = progress.previousLampSkills;
+    this.completed = progress.completed;
+    this.prioritised = progress.prioritised;
+    this.questPoints = progress.questPoints;
+    this.prioritisedVersion = progress.prioritisedVersion;
+    this.shared = true;
+    this.questsView = new QuestView(() -> quests, null);
+    this.completedView = new QuestView(() -> completed, null);
+    this.incompleteView = new QuestView(() -> quests, () -> completed);
+    this.prioritisedView = new QuestView(() -> prioritised, () -> completed);
+
+    progress.shared = true;
+  }
+
+  /**
+   * Returns a copy of this {@link QuestProgress} which shares all state until either is modified.
+   *
+   * @return the new quest progress instance
+   */
+  QuestProgress copy() {
+    return new QuestProgress(this);
+  }
+
+  /**
+   * Returns the {@link QuestCatalogue} used to index the quests.
+   *
+   * @return the catalogue
+   */
+  QuestCatalogue getCatalogue() {
+    return catalogue;
+  }
+
+  /**
+   * Returns the {@link Quest} with the given id.
+   *
+   * @param questId the id of the quest
+   * @return the quest or <tt>null</tt> if not found
+   */
+  Quest getQuest(int questId) {
+    int ordinal = catalogue.getOrdinalById(questId);
+
+    return ordinal >= 0 && quests.get(ordinal) ? catalogue.getQuest(ordinal) : null;
+  }
+
+  /**
+   * Returns the {@link QuestStatus} for the {@link Quest}.
+   *
+   * @param quest the quest
+   * @return the status
+   */
+  QuestStatus getStatus(Quest quest) {
+    return STATUSES[statuses[getOrdinal(quest)]];
+  }
+
+  /**
+   * Set the {@link QuestStatus} for the {@link Quest}.
+   *
+   * @param quest the quest
+   * @param status the status
+   */
+  void setStatus(Quest quest, QuestStatus status) {
+    int ordinal = getOrdinal(quest);
+
+    own();
+    statuses[ordinal] = (byte) status.ordinal();
+    update(ordinal);
+  }
+
+  /**
+   * Returns the {@link QuestPriority} for the {@link Quest}.
+   *
+   * @param quest the quest
+   * @return the priority
+   */
+  QuestPriority getPriority(Quest quest) {
+    return PRIORITIES[priorities[getOrdinal(quest)]];
+  }
+
+  /**
+   * Set the {@link QuestPriority} for the {@link Quest}.
+   *
+   * @param quest the quest
+   * @param priority the priority
+   */
+  void setPriority(Quest quest, QuestPriority priority) {
+    int ordinal = getOrdinal(quest);
+
+    own();
+    priorities[ordinal] = (byte) priority.ordinal();
+    update(ordinal);
+  }
+
+  /**
+   * Returns the previous {@link Skill} choices used for lamps from the {@link Quest}.
+   *
+   * @param quest the quest
+   * @return unmodifiable set of previous skill choices
+   */
+  Set<Set<Skill>> getPreviousLampSkills(Quest quest) {
+    Set<Set<Skill>> skills = previousLampSkills.get(getOrdinal(quest));
+
+    return skills != null ? Collections.unmodifiableSet(skills) : Collections.emptySet();
+  }
+
+  /**
+   * Add a previous {@link Skill} choice used for a lamp from the {@link Quest}.
+   *
+   * @param quest the quest
+   * @param skills the skill choice
+   */
+  void addPreviousLampSkills(Quest quest, Set<Skill> skills) {
+    int ordinal = getOrdinal(quest);
+
+    own();
+    previousLampSkills.computeIfAbsent(ordinal, o -> new HashSet<>()).add(skills);
+  }
+
+  /**
+   * Test if the {@link Quest} has been completed.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if the quest is completed; <tt>false</tt> otherwise
+   */
+  boolean isCompleted(Quest quest) {
+    return completed.get(catalogue.getOrdinal(quest));
+  }
+
+  /**
+   * Test if the {@link Quest} with the {@link QuestCatalogue} ordinal has been completed.
+   *
+   * @param ordinal the ordinal of the quest
+   * @return <tt>true</tt> if the quest is completed; <tt>false</tt> otherwise
+   */
+  boolean isCompleted(int ordinal) {
+    return completed.get(ordinal);
+  }
+
+  /**
+   * Test if any of the {@link QuestRequirement}s in the {@link QuestRequirementClosure} have been
+   * completed.
+   *
+   * @param closure the quest requirement closure
+   * @return <tt>true</tt> if any quest requirement is completed; <tt>false</tt> otherwise
+   */
+  boolean isAnyCompleted(QuestRequirementClosure closure) {
+    return closure.intersects(completed);
+  }
+
+  /**
+   * Returns the total number of quest points for all completed {@link Quest}s.
+   *
+   * @return number of quest points
+   */
+  int getQuestPoints() {
+    return questPoints;
+  }
+
+  /**
+   * Returns the version of the prioritised {@link Quest}s, which changes whenever a quest is added
+   * to or removed from {@link QuestProgress#getPrioritisedQuests()}.
+   *
+   * @return the prioritised version
+   */
+  int getPrioritisedVersion() {
+    return prioritisedVersion;
+  }
+
+  /**
+   * Returns all {@link Quest}s.
+   *
+   * @return set of quests
+   */
+  Set<Quest> getQuests() {
+    return questsView;
+  }
+
+  /**
+   * Returns all {@link Quest}s which are completed.
+   *
+   * @return set of complete quests
+   */
+  Set<Quest> getCompletedQuests() {
+    return completedView;
+  }
+
+  /**
+   * Returns all {@link Quest}s which are not completed.
+   *
+   * @return set of incomplete quests
+   */
+  Set<Quest> getIncompleteQuests() {
+    return incompleteView;
+  }
+
+  /**
+   * Returns all {@link Quest}s which are not completed and have a priority greater than normal.
+   *
+   * @return set of prioritised quests
+   * @see QuestPriority#greaterThanNormal()
+   */
+  Set<Quest> getPrioritisedQuests() {
+    return prioritisedView;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof QuestProgress)) {
+      return false;
+    }
+    QuestProgress that = (QuestProgress) o;
+    return Objects.equals(questsView, that.questsView);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(questsView);
+  }
+
+  /**
+   * Returns the ordinal of the {@link Quest}.
+   *
+   * @param quest the quest
+   * @return the ordinal
+   * @throws IllegalArgumentException if there is no entry for the quest
+   */
+  private int getOrdinal(Quest quest) {
+    int ordinal = catalogue.getOrdinal(quest);
+
+    if (!quests.get(ordinal)) {
+      throw new IllegalArgumentException("Unknown quest: " + quest);
+    }
+
+    return ordinal;
+  }
+
+  /**
+   * Copy all state which is shared with another {@link QuestProgress}, so that it can be modified.
+   */
+  private void own() {
+    if (shared) {
+      Map<Integer, Set<Set<Skill>>> ownLampSkills = new HashMap<>();
+
+      previousLampSkills.forEach((ordinal, skills) -> ownLampSkills.put(ordinal,
+          new HashSet<>(skills)));
+
+      statuses = statuses.clone();
+      priorities = priorities.clone();
+      previousLampSkills = ownLampSkills;
+      completed = (BitSet) completed.clone();
+      prioritised = (BitSet) prioritised.clone();
+      shared = false;
+    }
+  }
+
+  /**
+   * Update the completed and prioritised bits, the total quest points and the prioritised version,
+   * for the {@link Quest} with the ordinal.
+   *
+   * @param ordinal the ordinal of the quest
+   */
+  private void update(int ordinal) {
+    boolean wasPrioritised = isPrioritised(ordinal);
+    boolean nowCompleted = statuses[ordinal] == QuestStatus.COMPLETED.ordinal();
+
+    if (nowCompleted != completed.get(ordinal)) {
+      int points = catalogue.getQuest(ordinal).getRewards().getQuestPoints();
+
+      questPoints += nowCompleted ? points : -points;
+      completed.set(ordinal, nowCompleted);
+    }
+
+    prioritised.set(ordinal, PRIORITIES[priorities[ordinal]].greaterThanNormal());
+
+    if (wasPrioritised != isPrioritised(ordinal)) {
+      prioritisedVersion++;
+    }
+  }
+
+  /**
+   * Test if the {@link Quest} with the ordinal is prioritised and not completed.
+   *
+   * @param ordinal the ordinal of the quest
+   * @return <tt>true</tt> if the quest is prioritised; <tt>false</tt> otherwise
+   */
+  private boolean isPrioritised(int ordinal) {
+    return prioritised.get(ordinal) && !completed.get(ordinal);
+  }
+
+  /**
+   * An unmodifiable view of the {@link Quest}s with an ordinal which is included and not excluded.
+   */
+  private final class QuestView extends AbstractSet<Quest> {
+
+    private final Supplier<BitSet> included;
+    private final Supplier<BitSet> excluded;
+
+    QuestView(Supplier<BitSet> included, Supplier<BitSet> excluded) {
+      this.included = included;
+      this.excluded = excluded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Quest> iterator() {
+      return new Iterator<>() {
+        private int ordinal = nextOrdinal(0);
+
+        @Override
+        public boolean hasNext() {
+          return ordinal >= 0;
+        }
+
+        @Override
+        public Quest next() {
+          if (ordinal < 0) {
+            throw new NoSuchElementException();
+          }
+
+          Quest quest = catalogue.getQuest(ordinal);
+
+          ordinal = nextOrdinal(ordinal + 1);
+
+          return quest;
+        }
+      };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+      int size = 0;
+
+      for (int i = nextOrdinal(0); i >= 0; i = nextOrdinal(i + 1)) {
+        size++;
+      }
+
+      return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+      return nextOrdinal(0) < 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Quest) || !catalogue.contains((Quest) o)) {
+        return false;
+      }
+
+      int ordinal = catalogue.getOrdinal((Quest) o);
+
+      return included.get().get(ordinal) && (excluded == null || !excluded.get().get(ordinal));
+    }
+
+    /**
+     * Returns the first ordinal which is included and not excluded, starting from the given
+     * ordinal.
+     *
+     * @param from the ordinal to start from (inclusive)
+     * @return the next ordinal or <tt>-1</tt> if there are none
+     */
+    private int nextOrdinal(int from) {
+      BitSet includedBits = included.get();
+      BitSet excludedBits = excluded != null ? excluded.get() : null;
+      int ordinal = includedBits.nextSetBit(from);
+
+      while (ordinal >= 0 && excludedBits != null && excludedBits.get(ordinal)) {
+        ordinal = includedBits.nextSetBit(ordinal + 1);
+      }
+
+      return ordinal;
+    }
+  }
+}
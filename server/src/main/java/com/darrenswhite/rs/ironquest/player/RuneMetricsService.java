@@ -4,13 +4,28 @@ import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +35,13 @@ import org.springframework.stereotype.Service;
 /**
  * {@link Service} for retrieving quest data from RuneMetrics.
  *
+ * A single {@link HttpClient} is shared by all requests so that connections are pooled. Every
+ * request is bounded by the connect and read timeouts. Concurrent requests for the same username
+ * share a single request.
+ *
+ * Each request is recorded by the <tt>runemetrics.fetch</tt> timer, tagged with the
+ * <tt>outcome</tt> of either <tt>success</tt> or <tt>failure</tt>.
+ *
  * @author Darren S. White
  */
 @Service
@@ -28,41 +50,121 @@ public class RuneMetricsService {
   private static final Logger LOG = LogManager.getLogger(RuneMetricsService.class);
 
   private static final String QUESTS_ROOT = "quests";
+  private static final int STATUS_OK = 200;
+  private static final String FETCH_METER = "runemetrics.fetch";
 
   private final String url;
   private final ObjectMapper objectMapper;
+  private final HttpClient httpClient;
+  private final Duration readTimeout;
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<String, CompletableFuture<Set<RuneMetricsQuest>>> inFlight =
+      new ConcurrentHashMap<>();
 
   @Autowired
-  public RuneMetricsService(@Value("${runemetrics.url}") String url, ObjectMapper objectMapper) {
+  public RuneMetricsService(@Value("${runemetrics.url}") String url, ObjectMapper objectMapper,
+      @Value("${runemetrics.connect-timeout}") Duration connectTimeout,
+      @Value("${runemetrics.read-timeout}") Duration readTimeout, MeterRegistry meterRegistry) {
     this.url = url;
     this.objectMapper = objectMapper;
+    this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout)
+        .followRedirects(Redirect.NORMAL).build();
+    this.readTimeout = readTimeout;
+    this.meterRegistry = meterRegistry;
   }
 
   /**
    * Retrieve quest data for the given username.
    *
    * @param name the username
-   * @return set of quests
+   * @return set of quests, or an empty set if they could not be retrieved
    */
   public Set<RuneMetricsQuest> load(String name) {
-    Set<RuneMetricsQuest> quests = new LinkedHashSet<>();
+    try {
+      return loadAsync(name).join();
+    } catch (CompletionException | CancellationException e) {
+      LOG.warn("Failed to load quests for player: {}", name, e.getCause());
 
-    LOG.debug("Loading quests for player: {}...", name);
+      return Collections.emptySet();
+    }
+  }
+
+  /**
+   * Retrieve quest data for the given username without blocking.
+   *
+   * The returned future completes exceptionally if the request fails, times out, or the response
+   * can not be parsed. It is a copy of the shared request, so cancelling it does not affect other
+   * callers.
+   *
+   * @param name the username
+   * @return future unmodifiable set of quests
+   */
+  public CompletableFuture<Set<RuneMetricsQuest>> loadAsync(String name) {
+    String key = name.trim().toLowerCase(Locale.ROOT);
+    CompletableFuture<Set<RuneMetricsQuest>> fetch = new CompletableFuture<>();
+    CompletableFuture<Set<RuneMetricsQuest>> existing = inFlight.putIfAbsent(key, fetch);
+
+    if (existing != null) {
+      return existing.copy();
+    }
+
+    fetch.whenComplete((quests, e) -> inFlight.remove(key, fetch));
 
     try {
-      String runeMetricsUrl = String
-          .format(url, URLEncoder.encode(name, StandardCharsets.UTF_8.toString()));
+      fetch(name).whenComplete((quests, e) -> {
+        if (e != null) {
+          fetch.completeExceptionally(e);
+        } else {
+          fetch.complete(quests);
+        }
+      });
+    } catch (RuntimeException e) {
+      fetch.completeExceptionally(e);
+    }
+
+    return fetch.copy();
+  }
 
-      try (InputStreamReader in = new InputStreamReader(new URL(runeMetricsUrl).openStream())) {
-        JsonNode rmQuestsJson = objectMapper.readTree(in).get(QUESTS_ROOT);
+  /**
+   * Request quest data for the given username.
+   *
+   * @param name the username
+   * @return future unmodifiable set of quests
+   */
+  private CompletableFuture<Set<RuneMetricsQuest>> fetch(String name) {
+    LOG.debug("Loading quests for player: {}...", name);
 
-        quests.addAll(objectMapper.readValue(objectMapper.treeAsTokens(rmQuestsJson), new TypeReference<Set<RuneMetricsQuest>>() {
-        }));
-      }
-    } catch (IOException e) {
-      LOG.warn("Failed to load quests for player: {}", name, e);
+    HttpRequest request = HttpRequest
+        .newBuilder(URI.create(String.format(url, URLEncoder.encode(name, StandardCharsets.UTF_8))))
+        .timeout(readTimeout).GET().build();
+    Timer.Sample sample = Timer.start(meterRegistry);
+
+    return httpClient.sendAsync(request, BodyHandlers.ofString()).thenApply(this::parse)
+        .whenComplete((quests, e) -> sample.stop(meterRegistry
+            .timer(FETCH_METER, "outcome", e == null ? "success" : "failure")));
+  }
+
+  /**
+   * Parse the quest data from the {@link HttpResponse}.
+   *
+   * @param response the response
+   * @return set of quests
+   * @throws UncheckedIOException if the response status is not ok or the body can not be parsed
+   */
+  private Set<RuneMetricsQuest> parse(HttpResponse<String> response) {
+    if (response.statusCode() != STATUS_OK) {
+      throw new UncheckedIOException(new IOException(
+          "Unexpected status " + response.statusCode() + " from: " + response.uri()));
     }
 
-    return quests;
+    try {
+      JsonNode rmQuestsJson = objectMapper.readTree(response.body()).get(QUESTS_ROOT);
+
+      return Collections.unmodifiableSet(new LinkedHashSet<>(objectMapper.readValue(objectMapper.treeAsTokens(rmQuestsJson),
+          new TypeReference<Set<RuneMetricsQuest>>() {
+          })));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 }
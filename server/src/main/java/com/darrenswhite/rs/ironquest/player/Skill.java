@@ -193,6 +193,8 @@ public enum Skill {
   /**
    * Returns the level for this skill at the specified xp.
    *
+   * The level is found using a binary search of the xp table, up to the maximum level.
+   *
    * @param xp the xp
    * @return the level
    */
@@ -200,17 +202,20 @@ public enum Skill {
     checkXPRange(xp);
 
     double[] table = getXpTable();
-    int max = Math.min(maxLevel, table.length - 1);
-    int level = 1;
+    int low = 1;
+    int high = Math.min(maxLevel, table.length - 1);
+
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
 
-    for (int i = max; i > 0; i--) {
-      if (xp >= table[i]) {
-        level = i;
-        break;
+      if (xp >= table[mid]) {
+        low = mid;
+      } else {
+        high = mid - 1;
       }
     }
 
-    return level;
+    return low;
   }
 
   /**
@@ -0,0 +1,16 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+
+/**
+ * Exception thrown when a {@link Quest} requires itself through one or more {@link
+ * QuestRequirement}s.
+ *
+ * @author Darren S. White
+ */
+public class CyclicQuestRequirementException extends RuntimeException {
+
+  public CyclicQuestRequirementException(String message) {
+    super(message);
+  }
+}
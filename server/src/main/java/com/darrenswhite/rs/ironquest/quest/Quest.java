@@ -18,10 +18,10 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * A class representing a quest.
@@ -40,6 +40,8 @@ public class Quest {
   private final QuestRequirements requirements;
   private final QuestRewards rewards;
 
+  private volatile Set<QuestRequirement> recursiveQuestRequirements;
+
   public Quest(@JsonProperty("id") int id, @JsonProperty("title") String title,
       @JsonProperty("displayName") String displayName, @JsonProperty("access") QuestAccess access,
       @JsonProperty("type") QuestType type,
@@ -155,16 +157,28 @@ public class Quest {
   /**
    * Get all {@link QuestRequirements}s to complete this {@link Quest}.
    *
+   * The recursive quest requirements are computed once and remembered, as quests are immutable.
+   *
    * @param recursive <tt>true</tt> to get requirements recursively; <tt>false</tt> otherwise
-   * @return quest requirements
+   * @return unmodifiable set of quest requirements
+   * @see QuestCatalogue
    */
   public Set<QuestRequirement> getQuestRequirements(boolean recursive) {
-    Set<QuestRequirement> questRequirements = new HashSet<>(requirements.getQuests());
+    if (!recursive) {
+      return Collections.unmodifiableSet(requirements.getQuests());
+    }
+
+    Set<QuestRequirement> questRequirements = recursiveQuestRequirements;
+
+    if (questRequirements == null) {
+      questRequirements = new HashSet<>(requirements.getQuests());
+
+      for (QuestRequirement questRequirement : requirements.getQuests()) {
+        questRequirements.addAll(questRequirement.getQuest().getQuestRequirements(true));
+      }
 
-    if (recursive) {
-      questRequirements.addAll(requirements.getQuests().stream()
-          .flatMap(qr -> qr.getQuest().getQuestRequirements(true).stream())
-          .collect(Collectors.toSet()));
+      questRequirements = Collections.unmodifiableSet(questRequirements);
+      recursiveQuestRequirements = questRequirements;
     }
 
     return questRequirements;
@@ -0,0 +1,302 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import com.darrenswhite.rs.ironquest.quest.requirement.MaxSkillRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An immutable index of {@link Quest}s and the dependencies between them.
+ *
+ * Each quest is assigned a dense ordinal in topological order, such that every quest has a greater
+ * ordinal than all of its {@link QuestRequirement}s. The transitive closure of the quest
+ * requirements is computed once and stored as a {@link BitSet} of ordinals for each quest.
+ *
+ * A {@link QuestRequirementClosure} is also computed for each quest the first time it is needed
+ * for each combination of the ironman and recommended options.
+ *
+ * @author Darren S. White
+ */
+public class QuestCatalogue {
+
+  private final List<Quest> quests;
+  private final Map<Quest, Integer> ordinals;
+  private final Map<Integer, Integer> ordinalsById;
+  private final BitSet[] questRequirements;
+  private final AtomicReferenceArray<QuestRequirementClosure[]> closures =
+      new AtomicReferenceArray<>(4);
+  private final QuestTitleIndex titleIndex;
+
+  /**
+   * Create a new {@link QuestCatalogue} for the given {@link Quest}s and any quests they require.
+   *
+   * @param quests the quests
+   * @throws CyclicQuestRequirementException if any quest requires itself
+   */
+  public QuestCatalogue(Collection<Quest> quests) {
+    this(quests, Collections.emptyMap());
+  }
+
+  /**
+   * Create a new {@link QuestCatalogue} for the given {@link Quest}s and any quests they require.
+   *
+   * @param quests the quests
+   * @param aliases additional titles for quests, mapped to the id of the quest
+   * @throws CyclicQuestRequirementException if any quest requires itself
+   * @throws IllegalArgumentException if an alias is for an unknown quest id
+   * @see QuestTitleIndex
+   */
+  public QuestCatalogue(Collection<Quest> quests, Map<String, Integer> aliases) {
+    List<Quest> order = new ArrayList<>();
+    Map<Quest, Integer> visited = new HashMap<>();
+
+    for (Quest quest : quests) {
+      visit(quest, visited, new HashSet<>(), order);
+    }
+
+    this.quests = Collections.unmodifiableList(order);
+    this.ordinals = Collections.unmodifiableMap(visited);
+    this.ordinalsById = new HashMap<>();
+    this.questRequirements = new BitSet[order.size()];
+
+    for (int ordinal = 0; ordinal < order.size(); ordinal++) {
+      Quest quest = order.get(ordinal);
+      BitSet closure = new BitSet(ordinal);
+
+      for (QuestRequirement questRequirement : quest.getRequirements().getQuests()) {
+        int requirementOrdinal = visited.get(questRequirement.getQuest());
+
+        closure.set(requirementOrdinal);
+        closure.or(questRequirements[requirementOrdinal]);
+      }
+
+      questRequirements[ordinal] = closure;
+      ordinalsById.put(quest.getId(), ordinal);
+
+      // requirements have lower ordinals, so this only merges their remembered requirements
+      quest.getQuestRequirements(true);
+    }
+
+    this.titleIndex = new QuestTitleIndex(order, aliases);
+  }
+
+  /**
+   * Returns all {@link Quest}s in topological order.
+   *
+   * @return list of quests
+   */
+  public List<Quest> getQuests() {
+    return quests;
+  }
+
+  /**
+   * Returns the number of {@link Quest}s in this catalogue.
+   *
+   * @return the number of quests
+   */
+  public int size() {
+    return quests.size();
+  }
+
+  /**
+   * Test if the {@link Quest} is in this catalogue.
+   *
+   * @param quest the quest
+   * @return <tt>true</tt> if the quest is in this catalogue; <tt>false</tt> otherwise
+   */
+  public boolean contains(Quest quest) {
+    return ordinals.containsKey(quest);
+  }
+
+  /**
+   * Returns the ordinal for the {@link Quest}.
+   *
+   * @param quest the quest
+   * @return the ordinal
+   * @throws IllegalArgumentException if the quest is not in this catalogue
+   */
+  public int getOrdinal(Quest quest) {
+    Integer ordinal = ordinals.get(quest);
+
+    if (ordinal == null) {
+      throw new IllegalArgumentException("Unknown quest: " + quest);
+    }
+
+    return ordinal;
+  }
+
+  /**
+   * Returns the ordinal for the {@link Quest} with the given id.
+   *
+   * @param questId the id of the quest
+   * @return the ordinal or <tt>-1</tt> if there is no quest with the id
+   */
+  public int getOrdinalById(int questId) {
+    return ordinalsById.getOrDefault(questId, -1);
+  }
+
+  /**
+   * Returns the {@link Quest} with the given ordinal.
+   *
+   * @param ordinal the ordinal
+   * @return the quest
+   */
+  public Quest getQuest(int ordinal) {
+    return quests.get(ordinal);
+  }
+
+  /**
+   * Returns the index of all {@link Quest}s by title.
+   *
+   * @return the title index
+   */
+  public QuestTitleIndex getTitleIndex() {
+    return titleIndex;
+  }
+
+  /**
+   * Returns the ordinals of all {@link Quest}s required to complete the {@link Quest},
+   * recursively.
+   *
+   * @param quest the quest
+   * @return a copy of the quest requirement ordinals
+   */
+  public BitSet getQuestRequirements(Quest quest) {
+    return (BitSet) questRequirements[getOrdinal(quest)].clone();
+  }
+
+  /**
+   * Returns the ordinals of all {@link Quest}s required to complete any of the {@link Quest}s,
+   * recursively.
+   *
+   * @param quests the quests
+   * @return the quest requirement ordinals
+   */
+  public BitSet getQuestRequirements(Collection<Quest> quests) {
+    BitSet closure = new BitSet(size());
+
+    for (Quest quest : quests) {
+      closure.or(questRequirements[getOrdinal(quest)]);
+    }
+
+    return closure;
+  }
+
+  /**
+   * Returns the {@link QuestRequirementClosure} of the {@link Quest} for the ironman and
+   * recommended options.
+   *
+   * @param quest the quest
+   * @param ironman <tt>true</tt> if ironman requirements are used; <tt>false</tt> otherwise
+   * @param recommended <tt>true</tt> if recommended requirements are used; <tt>false</tt>
+   * otherwise
+   * @return the quest requirement closure
+   * @throws IllegalArgumentException if the quest is not in this catalogue
+   */
+  public QuestRequirementClosure getQuestRequirementClosure(Quest quest, boolean ironman,
+      boolean recommended) {
+    int options = (ironman ? 1 : 0) | (recommended ? 2 : 0);
+    QuestRequirementClosure[] optionClosures = closures.get(options);
+
+    if (optionClosures == null) {
+      optionClosures = createClosures(ironman, recommended);
+
+      // concurrent callers compute identical closures, so it doesn't matter which is kept
+      closures.compareAndSet(options, null, optionClosures);
+    }
+
+    return optionClosures[getOrdinal(quest)];
+  }
+
+  /**
+   * Create the {@link QuestRequirementClosure} of every {@link Quest} for the ironman and
+   * recommended options.
+   *
+   * @param ironman <tt>true</tt> if ironman requirements are used; <tt>false</tt> otherwise
+   * @param recommended <tt>true</tt> if recommended requirements are used; <tt>false</tt>
+   * otherwise
+   * @return the closures indexed by ordinal
+   */
+  private QuestRequirementClosure[] createClosures(boolean ironman, boolean recommended) {
+    QuestRequirementClosure[] optionClosures = new QuestRequirementClosure[quests.size()];
+
+    for (int ordinal = 0; ordinal < quests.size(); ordinal++) {
+      Quest quest = quests.get(ordinal);
+      BitSet closure = new BitSet(ordinal);
+      MaxSkillRequirements skillRequirements = new MaxSkillRequirements();
+
+      addSkillRequirements(quest, ironman, recommended, skillRequirements);
+
+      for (QuestRequirement questRequirement : quest.getQuestRequirements(true)) {
+        if (questRequirement.isApplicable(ironman, recommended)) {
+          closure.set(ordinals.get(questRequirement.getQuest()));
+        }
+      }
+
+      for (int i = closure.nextSetBit(0); i >= 0; i = closure.nextSetBit(i + 1)) {
+        addSkillRequirements(quests.get(i), ironman, recommended, skillRequirements);
+      }
+
+      optionClosures[ordinal] = new QuestRequirementClosure(closure,
+          List.copyOf(skillRequirements.asSet()));
+    }
+
+    return optionClosures;
+  }
+
+  /**
+   * Add the {@link SkillRequirement}s of the {@link Quest} which apply to the ironman and
+   * recommended options.
+   *
+   * @param quest the quest
+   * @param ironman <tt>true</tt> if ironman requirements are used; <tt>false</tt> otherwise
+   * @param recommended <tt>true</tt> if recommended requirements are used; <tt>false</tt>
+   * otherwise
+   * @param skillRequirements the accumulated skill requirements
+   */
+  private void addSkillRequirements(Quest quest, boolean ironman, boolean recommended,
+      MaxSkillRequirements skillRequirements) {
+    for (SkillRequirement skillRequirement : quest.getRequirements().getSkills()) {
+      if (skillRequirement.isApplicable(ironman, recommended)) {
+        skillRequirements.add(skillRequirement);
+      }
+    }
+  }
+
+  /**
+   * Visit the {@link Quest} and its {@link QuestRequirement}s depth-first, adding each quest to the
+   * topological order after all of its requirements.
+   *
+   * @param quest the quest to visit
+   * @param visited the ordinals of quests which have been added to the order
+   * @param path the quests currently being visited
+   * @param order the topological order
+   * @throws CyclicQuestRequirementException if the quest requires itself
+   */
+  private void visit(Quest quest, Map<Quest, Integer> visited, Set<Quest> path,
+      List<Quest> order) {
+    if (visited.containsKey(quest)) {
+      return;
+    }
+    if (!path.add(quest)) {
+      throw new CyclicQuestRequirementException("Quest requires itself: " + quest);
+    }
+
+    for (QuestRequirement questRequirement : quest.getRequirements().getQuests()) {
+      visit(questRequirement.getQuest(), visited, path, order);
+    }
+
+    path.remove(quest);
+    visited.put(quest, order.size());
+    order.add(quest);
+  }
+}
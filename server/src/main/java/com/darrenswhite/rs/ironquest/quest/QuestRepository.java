@@ -4,10 +4,17 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Repository;
@@ -15,6 +22,10 @@ import org.springframework.stereotype.Repository;
 /**
  * {@link Repository} for retrieving {@link Quest}s from a {@link Resource}.
  *
+ * The quests matching each combination of {@link QuestAccessFilter} and {@link QuestTypeFilter},
+ * including all of their quest requirements, are created when the quests are loaded and shared by
+ * every player.
+ *
  * @author Darren S. White
  */
 @Repository
@@ -23,22 +34,158 @@ public class QuestRepository {
   private static final Logger LOG = LogManager.getLogger(QuestRepository.class);
 
   private final Set<Quest> quests;
+  private final QuestCatalogue catalogue;
+  private final Map<QuestAccessFilter, Map<QuestTypeFilter, Set<Quest>>> filteredQuests;
+
+  /**
+   * Create a new {@link QuestRepository} without any quest title aliases.
+   *
+   * @param questsResource the resource to retrieve quest data from
+   * @param objectMapper an {@link ObjectMapper}
+   * @throws CyclicQuestRequirementException if any quest requires itself
+   */
+  public QuestRepository(Resource questsResource, ObjectMapper objectMapper) throws IOException {
+    this.quests = load(questsResource, objectMapper);
+    this.catalogue = new QuestCatalogue(quests);
+    this.filteredQuests = createFilteredQuests();
+  }
 
   /**
    * Create a new {@link QuestRepository}.
    *
    * @param questsResource the resource to retrieve quest data from
+   * @param aliasesResource the resource to retrieve quest title aliases from
    * @param objectMapper an {@link ObjectMapper}
+   * @throws CyclicQuestRequirementException if any quest requires itself
+   * @see QuestTitleIndex
    */
+  @Autowired
   public QuestRepository(@Value("${quests.resource}") Resource questsResource,
-      ObjectMapper objectMapper) throws IOException {
+      @Value("${quests.aliases.resource}") Resource aliasesResource, ObjectMapper objectMapper)
+      throws IOException {
     this.quests = load(questsResource, objectMapper);
+    this.catalogue = new QuestCatalogue(quests, loadAliases(aliasesResource, objectMapper));
+    this.filteredQuests = createFilteredQuests();
   }
 
   public Set<Quest> getQuests() {
     return quests;
   }
 
+  public QuestCatalogue getCatalogue() {
+    return catalogue;
+  }
+
+  /**
+   * Returns the {@link Quest}s which match the {@link QuestAccessFilter} and {@link
+   * QuestTypeFilter}, and all quests required to complete them (recursively).
+   *
+   * @param accessFilter the access filter for the quests
+   * @param typeFilter the type filter for the quests
+   * @return unmodifiable set of filtered quests
+   */
+  public Set<Quest> getQuests(QuestAccessFilter accessFilter, QuestTypeFilter typeFilter) {
+    return filteredQuests.get(accessFilter).get(typeFilter);
+  }
+
+  /**
+   * Create the filtered {@link Quest}s for every combination of {@link QuestAccessFilter} and
+   * {@link QuestTypeFilter}.
+   *
+   * @return filtered quests for each access and type filter
+   */
+  private Map<QuestAccessFilter, Map<QuestTypeFilter, Set<Quest>>> createFilteredQuests() {
+    Map<QuestAccessFilter, Map<QuestTypeFilter, Set<Quest>>> filtered = new EnumMap<>(
+        QuestAccessFilter.class);
+
+    for (QuestAccessFilter accessFilter : QuestAccessFilter.values()) {
+      Map<QuestTypeFilter, Set<Quest>> accessFiltered = new EnumMap<>(QuestTypeFilter.class);
+
+      for (QuestTypeFilter typeFilter : QuestTypeFilter.values()) {
+        accessFiltered.put(typeFilter, createFilteredQuests(accessFilter, typeFilter));
+      }
+
+      filtered.put(accessFilter, Collections.unmodifiableMap(accessFiltered));
+    }
+
+    return Collections.unmodifiableMap(filtered);
+  }
+
+  /**
+   * Create the {@link Set} of {@link Quest}s which match the filters, or are required by a quest
+   * which matches the filters.
+   *
+   * @param accessFilter the access filter for the quests
+   * @param typeFilter the type filter for the quests
+   * @return unmodifiable set of filtered quests
+   */
+  private Set<Quest> createFilteredQuests(QuestAccessFilter accessFilter,
+      QuestTypeFilter typeFilter) {
+    List<Quest> matching = new ArrayList<>();
+
+    for (Quest quest : quests) {
+      if (matchesAccessFilter(quest, accessFilter) && matchesTypeFilter(quest, typeFilter)) {
+        matching.add(quest);
+      }
+    }
+
+    BitSet included = catalogue.getQuestRequirements(matching);
+
+    for (Quest quest : matching) {
+      included.set(catalogue.getOrdinal(quest));
+    }
+
+    Set<Quest> filtered = new LinkedHashSet<>();
+
+    for (Quest quest : quests) {
+      if (included.get(catalogue.getOrdinal(quest))) {
+        filtered.add(quest);
+      }
+    }
+
+    return Collections.unmodifiableSet(filtered);
+  }
+
+  /**
+   * Test if a {@link Quest} matches the specified {@link QuestTypeFilter}.
+   *
+   * @param quest the quest
+   * @param typeFilter the type filter
+   * @return <tt>true</tt> if the quest matches the type filter; <tt>false</tt> otherwise
+   * @throws IllegalArgumentException for invalid quest types
+   */
+  private static boolean matchesTypeFilter(Quest quest, QuestTypeFilter typeFilter) {
+    switch (quest.getType()) {
+      case QUEST:
+        return typeFilter.isQuests();
+      case MINIQUEST:
+        return typeFilter.isMiniquests();
+      case SAGA:
+        return typeFilter.isSagas();
+      default:
+        throw new IllegalArgumentException("Unknown quest type: " + quest.getType());
+    }
+  }
+
+  /**
+   * Test if a {@link Quest} matches the specified {@link QuestAccessFilter}.
+   *
+   * @param quest the quest
+   * @param accessFilter the access filter
+   * @return <tt>true</tt> if the quest matches the access filter; <tt>false</tt> otherwise
+   * @throws IllegalArgumentException for invalid quest access
+   */
+  private static boolean matchesAccessFilter(Quest quest, QuestAccessFilter accessFilter) {
+    switch (quest.getAccess()) {
+      case FREE:
+        return accessFilter.isFree();
+      case MEMBERS:
+        return accessFilter.isMembers();
+      default:
+        throw new IllegalArgumentException("Unknown quest access: " + quest.getAccess());
+    }
+  }
+
   /**
    * Retrieve quest data from the specified {@link Resource}.
    *
@@ -54,4 +201,20 @@ public class QuestRepository {
       });
     }
   }
+
+  /**
+   * Retrieve quest title aliases from the specified {@link Resource}.
+   *
+   * @param aliasesResource the resource to retrieve aliases from
+   * @return the loaded aliases, mapped to quest id
+   */
+  private Map<String, Integer> loadAliases(Resource aliasesResource, ObjectMapper objectMapper)
+      throws IOException {
+    LOG.debug("Trying to retrieve quest title aliases from resource: {}", aliasesResource);
+
+    try (InputStream in = aliasesResource.getInputStream()) {
+      return objectMapper.readValue(in, new TypeReference<>() {
+      });
+    }
+  }
 }
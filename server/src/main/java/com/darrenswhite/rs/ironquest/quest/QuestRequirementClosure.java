@@ -0,0 +1,60 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@link QuestRequirement}s of a {@link Quest}, recursively, and the highest {@link
+ * SkillRequirement} for each {@link Skill} to complete the quest and all of those quest
+ * requirements.
+ *
+ * Only requirements which apply to the ironman and recommended options the closure was created
+ * for are included.
+ *
+ * @author Darren S. White
+ * @see QuestCatalogue#getQuestRequirementClosure(Quest, boolean, boolean)
+ */
+public final class QuestRequirementClosure {
+
+  private final BitSet questRequirements;
+  private final List<SkillRequirement> skillRequirements;
+
+  QuestRequirementClosure(BitSet questRequirements, List<SkillRequirement> skillRequirements) {
+    this.questRequirements = questRequirements;
+    this.skillRequirements = skillRequirements;
+  }
+
+  /**
+   * Returns the highest {@link SkillRequirement} for each {@link Skill} to complete the {@link
+   * Quest} and all of its quest requirements.
+   *
+   * @return unmodifiable list of skill requirements
+   */
+  public List<SkillRequirement> getSkillRequirements() {
+    return skillRequirements;
+  }
+
+  /**
+   * Test if any of the {@link QuestRequirement}s have one of the given {@link QuestCatalogue}
+   * ordinals.
+   *
+   * @param ordinals the ordinals
+   * @return <tt>true</tt> if any quest requirement is in the ordinals; <tt>false</tt> otherwise
+   */
+  public boolean intersects(BitSet ordinals) {
+    return questRequirements.intersects(ordinals);
+  }
+
+  /**
+   * Returns the {@link QuestCatalogue} ordinal of the next {@link QuestRequirement}.
+   *
+   * @param from the ordinal to start from (inclusive)
+   * @return the next ordinal or <tt>-1</tt> if there are none
+   */
+  public int nextQuestRequirement(int from) {
+    return questRequirements.nextSetBit(from);
+  }
+}
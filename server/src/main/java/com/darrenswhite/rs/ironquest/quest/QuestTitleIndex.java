@@ -0,0 +1,106 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An immutable index of {@link Quest}s by their normalised title, display name and aliases.
+ *
+ * Titles are normalised by removing accents, case-folding and removing all characters which are not
+ * letters or digits, so that e.g. <tt>"Cook's Assistant"</tt> and <tt>"cooks assistant"</tt> find
+ * the same quest.
+ *
+ * @author Darren S. White
+ */
+public class QuestTitleIndex {
+
+  private static final Logger LOG = LogManager.getLogger(QuestTitleIndex.class);
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+  private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]");
+
+  private final Map<String, Quest> quests;
+
+  /**
+   * Create a new {@link QuestTitleIndex} for the given {@link Quest}s.
+   *
+   * @param quests the quests
+   * @param aliases additional titles for quests, mapped to the id of the quest
+   * @throws IllegalArgumentException if an alias is for an unknown quest id
+   */
+  public QuestTitleIndex(Collection<Quest> quests, Map<String, Integer> aliases) {
+    Map<String, Quest> index = new HashMap<>();
+    Map<Integer, Quest> questsById = new HashMap<>();
+
+    for (Quest quest : quests) {
+      questsById.put(quest.getId(), quest);
+      put(index, quest.getTitle(), quest);
+      put(index, quest.getDisplayName(), quest);
+    }
+
+    aliases.forEach((alias, id) -> {
+      Quest quest = questsById.get(id);
+
+      if (quest == null) {
+        throw new IllegalArgumentException("Unknown quest id for alias " + alias + ": " + id);
+      }
+
+      put(index, alias, quest);
+    });
+
+    this.quests = Collections.unmodifiableMap(index);
+  }
+
+  /**
+   * Normalise the title by removing accents, case-folding and removing all characters which are not
+   * letters or digits.
+   *
+   * @param title the title
+   * @return the normalised title
+   */
+  public static String normalise(String title) {
+    String decomposed = Normalizer.normalize(title, Form.NFKD);
+    String unaccented = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+
+    return NON_ALPHANUMERIC.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll("");
+  }
+
+  /**
+   * Find the {@link Quest} with the given title, display name or alias.
+   *
+   * @param title the title
+   * @return the quest or empty if not found
+   */
+  public Optional<Quest> find(String title) {
+    return title != null ? Optional.ofNullable(quests.get(normalise(title))) : Optional.empty();
+  }
+
+  /**
+   * Add the {@link Quest} to the index with the given title.
+   *
+   * If the title is already indexed for a different quest, then the first quest is kept.
+   *
+   * @param index the index
+   * @param title the title
+   * @param quest the quest
+   */
+  private static void put(Map<String, Quest> index, String title, Quest quest) {
+    if (title == null) {
+      return;
+    }
+
+    Quest existing = index.putIfAbsent(normalise(title), quest);
+
+    if (existing != null && !existing.equals(quest)) {
+      LOG.warn("Quest title {} already indexed for quest: {}", title, existing);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.darrenswhite.rs.ironquest.quest.requirement;
+
+import com.darrenswhite.rs.ironquest.player.Skill;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Accumulates the highest {@link SkillRequirement} for each {@link Skill}.
+ *
+ * Requirements are indexed by the ordinal of their skill, so adding a requirement is constant time
+ * regardless of how many have already been added. Skills are kept in the order they were first
+ * added.
+ *
+ * @author Darren S. White
+ */
+public final class MaxSkillRequirements {
+
+  private static final int SKILLS = Skill.values().length;
+
+  private final SkillRequirement[] requirements = new SkillRequirement[SKILLS];
+  private final int[] order = new int[SKILLS];
+  private final Set<SkillRequirement> view = new View();
+  private int size;
+
+  /**
+   * Add the {@link SkillRequirement} if there is no requirement for its {@link Skill}, or it has a
+   * higher level than the current requirement.
+   *
+   * @param requirement the requirement
+   * @return <tt>true</tt> if the requirement was added; <tt>false</tt> otherwise
+   */
+  public boolean add(SkillRequirement requirement) {
+    int ordinal = requirement.getSkill().ordinal();
+    SkillRequirement current = requirements[ordinal];
+
+    if (current == null) {
+      order[size++] = ordinal;
+    } else if (requirement.getLevel() <= current.getLevel()) {
+      return false;
+    }
+
+    requirements[ordinal] = requirement;
+
+    return true;
+  }
+
+  /**
+   * Add each {@link SkillRequirement}.
+   *
+   * @param requirements the requirements
+   * @see MaxSkillRequirements#add(SkillRequirement)
+   */
+  public void addAll(Iterable<SkillRequirement> requirements) {
+    for (SkillRequirement requirement : requirements) {
+      add(requirement);
+    }
+  }
+
+  /**
+   * Returns the highest {@link SkillRequirement} for the {@link Skill}.
+   *
+   * @param skill the skill
+   * @return the requirement or <tt>null</tt> if there is none
+   */
+  public SkillRequirement get(Skill skill) {
+    return requirements[skill.ordinal()];
+  }
+
+  /**
+   * Returns the number of {@link Skill}s with a requirement.
+   *
+   * @return the number of requirements
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Test if there are no requirements.
+   *
+   * @return <tt>true</tt> if there are no requirements; <tt>false</tt> otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns an unmodifiable view of the requirements which reflects any later changes.
+   *
+   * @return set of the highest requirement for each skill
+   */
+  public Set<SkillRequirement> asSet() {
+    return view;
+  }
+
+  /**
+   * An unmodifiable view of the requirements in the order their {@link Skill}s were first added.
+   */
+  private final class View extends AbstractSet<SkillRequirement> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<SkillRequirement> iterator() {
+      return new Iterator<>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return index < size;
+        }
+
+        @Override
+        public SkillRequirement next() {
+          if (index >= size) {
+            throw new NoSuchElementException();
+          }
+
+          return requirements[order[index++]];
+        }
+      };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+      return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof SkillRequirement) || ((SkillRequirement) o).getSkill() == null) {
+        return false;
+      }
+
+      return o.equals(requirements[((SkillRequirement) o).getSkill().ordinal()]);
+    }
+  }
+}
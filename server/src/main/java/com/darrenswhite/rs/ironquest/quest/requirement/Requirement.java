@@ -33,10 +33,19 @@ public abstract class Requirement {
    * @return <tt>true</tt> if the player meets this requirement; <tt>false</tt> otherwise
    */
   public boolean test(Player player) {
-    boolean testIronman = isIronman() && !player.isIronman();
-    boolean testRecommended = isRecommended() && !player.isRecommended();
+    return !isApplicable(player.isIronman(), player.isRecommended()) || testPlayer(player);
+  }
 
-    return testIronman || testRecommended || testPlayer(player);
+  /**
+   * Test if this requirement applies when using the ironman and recommended options.
+   *
+   * @param ironman <tt>true</tt> if ironman requirements are used; <tt>false</tt> otherwise
+   * @param recommended <tt>true</tt> if recommended requirements are used; <tt>false</tt>
+   * otherwise
+   * @return <tt>true</tt> if this requirement applies; <tt>false</tt> otherwise
+   */
+  public final boolean isApplicable(boolean ironman, boolean recommended) {
+    return (!isIronman() || ironman) && (!isRecommended() || recommended);
   }
 
   /**
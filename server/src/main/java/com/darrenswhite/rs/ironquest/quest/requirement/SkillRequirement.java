@@ -27,31 +27,22 @@ public class SkillRequirement extends Requirement {
   }
 
   /**
-   * Merge both {@link SkillRequirement}s together.
+   * Merge both {@link SkillRequirement}s together, keeping only the highest requirement for each
+   * {@link Skill}.
    *
    * @param requirements the first collection
    * @param merge the second collection
    * @return {@link LinkedHashSet} of merged {@link SkillRequirement}.
+   * @see MaxSkillRequirements
    */
   public static Set<SkillRequirement> merge(Collection<SkillRequirement> requirements,
       Collection<SkillRequirement> merge) {
-    Set<SkillRequirement> merged = new LinkedHashSet<>(requirements);
-
-    merge.forEach(mergeRequirement -> {
-      SkillRequirement skillRequirement = requirements.stream()
-          .filter(sr -> sr.skill == mergeRequirement.skill).findFirst().orElse(null);
-
-      if (skillRequirement != null) {
-        if (mergeRequirement.level > skillRequirement.level) {
-          merged.remove(skillRequirement);
-          merged.add(mergeRequirement);
-        }
-      } else {
-        merged.add(mergeRequirement);
-      }
-    });
-
-    return merged;
+    MaxSkillRequirements merged = new MaxSkillRequirements();
+
+    merged.addAll(requirements);
+    merged.addAll(merge);
+
+    return new LinkedHashSet<>(merged.asSet());
   }
 
   public int getLevel() {
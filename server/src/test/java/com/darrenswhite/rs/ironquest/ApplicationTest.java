@@ -1,8 +1,11 @@
 package com.darrenswhite.rs.ironquest;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import org.apache.coyote.ProtocolHandler;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,4 +29,18 @@ class ApplicationTest {
       verify(registry).addMapping("/**");
     }
   }
+
+  @Nested
+  class VirtualThreadsCustomizer {
+
+    @Test
+    void shouldThrowExceptionWhenVirtualThreadsNotSupported() {
+      assumeFalse(VirtualThreads.isSupported());
+
+      ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+      assertThrows(UnsupportedOperationException.class,
+          () -> new Application().virtualThreadsCustomizer().customize(protocolHandler));
+    }
+  }
 }
@@ -0,0 +1,50 @@
+package com.darrenswhite.rs.ironquest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadsTest {
+
+  static final boolean JAVA_21 = Runtime.version().feature() >= 21;
+
+  @Nested
+  class IsSupported {
+
+    @Test
+    void shouldOnlyBeSupportedFromJava21() {
+      assertThat(VirtualThreads.isSupported(), is(JAVA_21));
+    }
+  }
+
+  @Nested
+  class NewExecutor {
+
+    @Test
+    void shouldThrowExceptionBeforeJava21() {
+      assumeFalse(JAVA_21);
+
+      assertThrows(UnsupportedOperationException.class, VirtualThreads::newExecutor);
+    }
+
+    @Test
+    void shouldRunTasksOnVirtualThreads() throws Exception {
+      assumeTrue(JAVA_21);
+
+      ExecutorService executor = VirtualThreads.newExecutor();
+
+      try {
+        assertThat(executor.submit(() -> Thread.class.getMethod("isVirtual")
+            .invoke(Thread.currentThread())).get(), is(true));
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+}
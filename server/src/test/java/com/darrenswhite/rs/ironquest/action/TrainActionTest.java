@@ -3,12 +3,14 @@ package com.darrenswhite.rs.ironquest.action;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 
 import com.darrenswhite.rs.ironquest.dto.TrainActionDTO;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.Map;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -89,6 +91,28 @@ class TrainActionTest {
     }
   }
 
+  @Nested
+  class CreateDeltaDTO {
+
+    @Test
+    void shouldCreateWithDeltaInsteadOfPlayer() {
+      Player previous = new Player.Builder().build();
+      Player player = previous.copy();
+
+      player.addSkillXP(Skill.RANGED, 100);
+
+      TrainAction trainAction = new TrainAction(player, Skill.RANGED, 0, 100);
+
+      TrainActionDTO dto = trainAction.createDeltaDTO(previous);
+
+      assertThat(dto.getMessage(), is(trainAction.getMessage()));
+      assertThat(dto.getPlayer(), nullValue());
+      assertThat(dto.getDelta(), is(player.createDeltaDTO(previous)));
+      assertThat(dto.getDelta().getLevels(), is(Map.of(Skill.RANGED, 1)));
+      assertThat(dto.getType(), is(ActionType.TRAIN));
+    }
+  }
+
   @Nested
   class CopyForPlayer {
 
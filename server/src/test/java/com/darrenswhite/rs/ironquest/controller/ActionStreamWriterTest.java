@@ -0,0 +1,75 @@
+package com.darrenswhite.rs.ironquest.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.darrenswhite.rs.ironquest.action.TrainAction;
+import com.darrenswhite.rs.ironquest.path.Path;
+import com.darrenswhite.rs.ironquest.path.PathStats;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ActionStreamWriterTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Nested
+  class Accept {
+
+    @Test
+    void shouldWriteFullPlayerForEachAction() throws IOException {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      ActionStreamWriter writer = new ActionStreamWriter(outputStream, OBJECT_MAPPER, false);
+      Player player = new Player.Builder().build();
+      TrainAction firstAction = new TrainAction(player, Skill.ATTACK, 0, 100);
+      TrainAction secondAction = new TrainAction(player, Skill.ATTACK, 100, 200);
+
+      writer.accept(firstAction);
+      writer.accept(secondAction);
+
+      assertThat(outputStream.toString(StandardCharsets.UTF_8),
+          is(OBJECT_MAPPER.writeValueAsString(firstAction.createDTO()) + "\n" + OBJECT_MAPPER
+              .writeValueAsString(secondAction.createDTO()) + "\n"));
+    }
+
+    @Test
+    void shouldWriteDeltaAfterFirstAction() throws IOException {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      ActionStreamWriter writer = new ActionStreamWriter(outputStream, OBJECT_MAPPER, true);
+      Player player = new Player.Builder().build();
+      TrainAction firstAction = new TrainAction(player, Skill.ATTACK, 0, 100);
+
+      player.addSkillXP(Skill.ATTACK, 100);
+
+      TrainAction secondAction = new TrainAction(player, Skill.ATTACK, 100, 200);
+
+      writer.accept(firstAction);
+      writer.accept(secondAction);
+
+      assertThat(outputStream.toString(StandardCharsets.UTF_8),
+          is(OBJECT_MAPPER.writeValueAsString(firstAction.createDTO()) + "\n" + OBJECT_MAPPER
+              .writeValueAsString(secondAction.createDeltaDTO(firstAction.getPlayer())) + "\n"));
+    }
+
+    @Test
+    void shouldWriteSameFirstActionAsDeltaPath() throws IOException {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      ActionStreamWriter writer = new ActionStreamWriter(outputStream, OBJECT_MAPPER, true);
+      Player player = new Player.Builder().build();
+      TrainAction firstAction = new TrainAction(player, Skill.ATTACK, 0, 100);
+      Path path = new Path(List.of(firstAction), new PathStats(0));
+
+      writer.accept(firstAction);
+
+      assertThat(outputStream.toString(StandardCharsets.UTF_8),
+          is(OBJECT_MAPPER.writeValueAsString(path.createDeltaDTO().getActions().get(0)) + "\n"));
+    }
+  }
+}
@@ -1,16 +1,32 @@
 package com.darrenswhite.rs.ironquest.controller;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.action.TrainAction;
 import com.darrenswhite.rs.ironquest.dto.PathDTO;
 import com.darrenswhite.rs.ironquest.dto.PathFinderParametersDTO;
+import com.darrenswhite.rs.ironquest.dto.PathResultDTO;
 import com.darrenswhite.rs.ironquest.path.Path;
+import com.darrenswhite.rs.ironquest.path.PathCache;
 import com.darrenswhite.rs.ironquest.path.PathFinderService;
+import com.darrenswhite.rs.ironquest.path.PathStats;
 import com.darrenswhite.rs.ironquest.path.QuestNotFoundException;
 import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmId;
 import com.darrenswhite.rs.ironquest.player.Player;
@@ -20,33 +36,50 @@ import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.QuestAccessFilter;
 import com.darrenswhite.rs.ironquest.quest.QuestTypeFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import org.assertj.core.util.Sets;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
 
 class QuestControllerTest {
 
-  static PlayerService playerService;
-  static PathFinderService pathFinderService;
-  static QuestController controller;
+  PlayerService playerService;
+  PathFinderService pathFinderService;
+  SimpleMeterRegistry meterRegistry;
+  RequestExecutors executors;
+  QuestController controller;
 
-  @BeforeAll
-  static void beforeAll() {
+  @BeforeEach
+  void setUp() {
     playerService = mock(PlayerService.class);
     pathFinderService = mock(PathFinderService.class);
-    controller = new QuestController(playerService, pathFinderService);
+    meterRegistry = new SimpleMeterRegistry();
+    executors = new RequestExecutors(2, 4, 2, 4, false, Duration.ofSeconds(5));
+    controller = new QuestController(playerService, pathFinderService,
+        new PathCache(10, 1000, Duration.ofMinutes(1), meterRegistry), new ObjectMapper(),
+        meterRegistry, executors, Duration.ofMinutes(1), 3);
   }
 
   @AfterEach
   void tearDown() {
-    reset(playerService);
-    reset(pathFinderService);
+    executors.shutdown();
   }
 
   @Nested
@@ -70,7 +103,7 @@ class QuestControllerTest {
       when(playerService.createPlayer(name, accessFilter, typeFilter)).thenReturn(player);
       when(player.getIncompleteQuests()).thenReturn(quests);
 
-      Set<Quest> result = controller.getQuests(parameters);
+      Set<Quest> result = controller.getQuests(parameters).join();
 
       assertThat(result, is(quests));
     }
@@ -107,13 +140,261 @@ class QuestControllerTest {
       when(pathFinderService.find(player, algorithm)).thenReturn(path);
       when(path.createDTO()).thenReturn(pathDTO);
 
-      PathDTO result = controller.getPath(parameters);
+      PathDTO result = controller.getPath(parameters).join();
 
       verify(playerService)
           .createPlayer(name, accessFilter, typeFilter, true, true, lampSkills, questPriorities);
       verify(pathFinderService).find(player, algorithm);
       verify(path).createDTO();
       assertThat(result, is(pathDTO));
+      assertThat(meterRegistry.get("path.dto").tag("mode", "full").timer().count(), is(1L));
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWhenQuestNotFound() throws QuestNotFoundException {
+      Player player = mock(Player.class);
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player);
+      when(pathFinderService.find(player, AlgorithmId.DEFAULT))
+          .thenThrow(new QuestNotFoundException("not found"));
+
+      CompletionException e = assertThrows(CompletionException.class,
+          () -> controller.getPath(parameters).join());
+
+      assertThat(e.getCause(), instanceOf(QuestNotFoundException.class));
+    }
+
+    @Test
+    void shouldCreateDeltaDTO() throws QuestNotFoundException {
+      Player player = mock(Player.class);
+      Path path = mock(Path.class);
+      PathDTO pathDTO = mock(PathDTO.class);
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setDelta(true);
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player);
+      when(pathFinderService.find(player, AlgorithmId.DEFAULT)).thenReturn(path);
+      when(path.createDeltaDTO()).thenReturn(pathDTO);
+
+      PathDTO result = controller.getPath(parameters).join();
+
+      verify(path).createDeltaDTO();
+      assertThat(result, is(pathDTO));
+      assertThat(meterRegistry.get("path.dto").tag("mode", "delta").timer().count(), is(1L));
+    }
+
+    @Test
+    void shouldReturnCachedPathForSamePlayerState() throws QuestNotFoundException {
+      Player player = new Player.Builder().build();
+      Path path = mock(Path.class);
+      PathDTO pathDTO = mock(PathDTO.class);
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player);
+      when(pathFinderService.find(player, AlgorithmId.DEFAULT)).thenReturn(path);
+      when(path.createDTO()).thenReturn(pathDTO);
+
+      PathDTO first = controller.getPath(parameters).join();
+      PathDTO second = controller.getPath(parameters).join();
+
+      verify(pathFinderService, times(1)).find(player, AlgorithmId.DEFAULT);
+      assertThat(first, is(pathDTO));
+      assertThat(second, is(pathDTO));
+    }
+
+    @Test
+    void shouldFindPathWhenPlayerStateChanges() throws QuestNotFoundException {
+      Player player = new Player.Builder().build();
+      Player trained = new Player.Builder().build();
+      Path path = mock(Path.class);
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      trained.addSkillXP(Skill.ATTACK, 100);
+
+      when(playerService
+          .createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              parameters.getLampSkills(), parameters.getQuestPriorities())).thenReturn(player)
+          .thenReturn(trained);
+      when(pathFinderService.find(any(), eq(AlgorithmId.DEFAULT))).thenReturn(path);
+      when(path.createDTO()).thenReturn(mock(PathDTO.class));
+
+      controller.getPath(parameters).join();
+      controller.getPath(parameters).join();
+
+      verify(pathFinderService).find(player, AlgorithmId.DEFAULT);
+      verify(pathFinderService).find(trained, AlgorithmId.DEFAULT);
+    }
+  }
+
+  @Nested
+  class GetPaths {
+
+    PathFinderParametersDTO createParameters(String name, AlgorithmId algorithm) {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      parameters.setName(name);
+      parameters.setAlgorithm(algorithm);
+
+      return parameters;
+    }
+
+    @Test
+    void shouldReturnResultsInOrderWithErrors() throws QuestNotFoundException {
+      PathDTO pathDTO = mock(PathDTO.class);
+      Path path = mock(Path.class);
+
+      when(playerService.createPlayer(any(), any(), any(), anyBoolean(), anyBoolean(), anySet(),
+          anyMap())).thenAnswer(
+          invocation -> new Player.Builder().withName(invocation.getArgument(0)).build());
+      when(pathFinderService.find(any(), eq(AlgorithmId.DEFAULT))).thenAnswer(invocation -> {
+        Player player = invocation.getArgument(0);
+
+        if (player.getName().equals("missing")) {
+          throw new QuestNotFoundException("not found");
+        }
+
+        return path;
+      });
+      when(path.createDTO()).thenReturn(pathDTO);
+
+      List<PathResultDTO> results = controller.getPaths(
+          List.of(createParameters("missing", AlgorithmId.DEFAULT),
+              createParameters("username", AlgorithmId.DEFAULT))).join();
+
+      assertThat(results.size(), is(2));
+      assertThat(results.get(0).getPath(), nullValue());
+      assertThat(results.get(0).getError(), is("not found"));
+      assertThat(results.get(1).getPath(), is(pathDTO));
+      assertThat(results.get(1).getError(), nullValue());
+    }
+
+    @Test
+    void shouldReturnErrorNameWhenErrorHasNoMessage() {
+      when(playerService.createPlayer(any(), any(), any(), anyBoolean(), anyBoolean(), anySet(),
+          anyMap())).thenThrow(new NullPointerException());
+
+      List<PathResultDTO> results = controller
+          .getPaths(List.of(createParameters("username", AlgorithmId.DEFAULT))).join();
+
+      assertThat(results.get(0).getPath(), nullValue());
+      assertThat(results.get(0).getError(), is(NullPointerException.class.getName()));
+    }
+
+    @Test
+    void shouldSharePlayersAndPathsBetweenParameters() throws QuestNotFoundException {
+      Path path = mock(Path.class);
+
+      when(playerService.createPlayer("username", QuestAccessFilter.ALL, QuestTypeFilter.ALL,
+          false, false, Collections.emptySet(), Collections.emptyMap()))
+          .thenReturn(new Player.Builder().withName("username").build());
+      when(pathFinderService.find(any(), any())).thenReturn(path);
+      when(path.createDTO()).thenReturn(mock(PathDTO.class));
+
+      List<PathResultDTO> results = controller.getPaths(
+          List.of(createParameters("username", AlgorithmId.DEFAULT),
+              createParameters("username", AlgorithmId.SMART_PRIORITIES),
+              createParameters("username", AlgorithmId.DEFAULT))).join();
+
+      verify(playerService, times(1))
+          .createPlayer(any(), any(), any(), anyBoolean(), anyBoolean(), anySet(), anyMap());
+      verify(pathFinderService, times(1)).find(any(), eq(AlgorithmId.DEFAULT));
+      verify(pathFinderService, times(1)).find(any(), eq(AlgorithmId.SMART_PRIORITIES));
+      assertThat(results.size(), is(3));
+      assertThat(results.get(2), is(results.get(0)));
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanMaximumSize() {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+      List<PathFinderParametersDTO> batch = List.of(parameters, parameters, parameters, parameters);
+
+      assertThrows(ResponseStatusException.class, () -> controller.getPaths(batch));
+    }
+  }
+
+  @Nested
+  class GetPathStream {
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+      mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    MvcResult performStream(Player player) throws Exception {
+      when(playerService
+          .createPlayer(any(), eq(QuestAccessFilter.ALL), eq(QuestTypeFilter.ALL), eq(false),
+              eq(false), anySet(), anyMap())).thenReturn(player);
+
+      MvcResult result = mockMvc.perform(get("/quests/path/stream"))
+          .andExpect(request().asyncStarted()).andReturn();
+      MvcResult stream = mockMvc.perform(asyncDispatch(result)).andReturn();
+
+      stream.getAsyncResult(5000);
+
+      return stream;
+    }
+
+    @Test
+    void shouldWriteActionsAndStatsAsLines() throws Exception {
+      Player player = new Player.Builder().build();
+      Action action = new TrainAction(player, Skill.ATTACK, 0, 100);
+      PathStats stats = new PathStats(50);
+
+      when(pathFinderService.find(eq(player), eq(AlgorithmId.DEFAULT), any()))
+          .thenAnswer(invocation -> {
+            Consumer<Action> listener = invocation.getArgument(2);
+
+            listener.accept(action);
+
+            return new Path(List.of(action), stats);
+          });
+
+      MvcResult result = performStream(player);
+
+      ObjectMapper objectMapper = new ObjectMapper();
+      String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8)
+          .split("\n");
+
+      assertThat(result.getResponse().getContentType(),
+          is(QuestController.APPLICATION_NDJSON.toString()));
+      assertThat(lines.length, is(2));
+      assertThat(lines[0], is(objectMapper.writeValueAsString(action.createDTO())));
+      assertThat(lines[1], is(objectMapper.writeValueAsString(stats.createDTO())));
+    }
+
+    @Test
+    void shouldUseStreamTimeout() throws Exception {
+      Player player = new Player.Builder().build();
+
+      when(pathFinderService.find(eq(player), eq(AlgorithmId.DEFAULT), any()))
+          .thenReturn(new Path(Collections.emptyList(), new PathStats(0)));
+
+      MvcResult result = performStream(player);
+
+      assertThat(result.getRequest().getAsyncContext().getTimeout(),
+          is(Duration.ofMinutes(1).toMillis()));
+    }
+
+    @Test
+    void shouldFailStreamWhenQuestNotFound() throws Exception {
+      Player player = new Player.Builder().build();
+
+      when(pathFinderService.find(eq(player), eq(AlgorithmId.DEFAULT), any()))
+          .thenThrow(new QuestNotFoundException("not found"));
+
+      MvcResult result = performStream(player);
+
+      assertThat(result.getAsyncResult(), instanceOf(QuestNotFoundException.class));
     }
   }
 }
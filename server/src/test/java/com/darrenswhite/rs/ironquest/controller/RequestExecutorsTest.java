@@ -0,0 +1,140 @@
+package com.darrenswhite.rs.ironquest.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class RequestExecutorsTest {
+
+  final CountDownLatch started = new CountDownLatch(1);
+  final CountDownLatch latch = new CountDownLatch(1);
+  final CountDownLatch interrupted = new CountDownLatch(1);
+  RequestExecutors executors;
+
+  @AfterEach
+  void tearDown() {
+    latch.countDown();
+
+    if (executors != null) {
+      executors.shutdown();
+    }
+  }
+
+  Supplier<String> await() {
+    return () -> {
+      started.countDown();
+
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+
+      return "result";
+    };
+  }
+
+  void assertServiceUnavailable(Throwable e) {
+    assertThat(e, instanceOf(ResponseStatusException.class));
+    assertThat(((ResponseStatusException) e).getStatus(), is(HttpStatus.SERVICE_UNAVAILABLE));
+  }
+
+  @Nested
+  class Handle {
+
+    @Test
+    void shouldCompleteWithResult() {
+      executors = new RequestExecutors(1, 1, 1, 1, false, Duration.ofSeconds(5));
+
+      String result = executors
+          .<String>handle(request -> executors.submitIo(() -> "result", request)).join();
+
+      assertThat(result, is("result"));
+    }
+
+    @Test
+    void shouldUnwrapTaskFailure() {
+      executors = new RequestExecutors(1, 1, 1, 1, false, Duration.ofSeconds(5));
+      IllegalStateException failure = new IllegalStateException();
+
+      CompletionException e = assertThrows(CompletionException.class,
+          () -> executors.<String>handle(request -> executors.submitCpu(() -> {
+            throw failure;
+          }, request)).join());
+
+      assertThat(e.getCause(), is(failure));
+    }
+
+    @Test
+    void shouldCancelTasksWhenTimeoutExpires() throws InterruptedException {
+      executors = new RequestExecutors(1, 1, 1, 1, false, Duration.ofMillis(50));
+
+      CompletionException e = assertThrows(CompletionException.class,
+          () -> executors.<String>handle(request -> executors.submitIo(await(), request)).join());
+
+      assertServiceUnavailable(e.getCause());
+      assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+    }
+  }
+
+  @Nested
+  class Submit {
+
+    @Test
+    void shouldFailWithServiceUnavailableWhenQueueIsFull() {
+      CompletableFuture<String> response = new CompletableFuture<>();
+
+      executors = new RequestExecutors(1, 1, 1, 1, false, Duration.ofSeconds(5));
+      executors.submitIo(await(), response);
+      executors.submitIo(await(), response);
+
+      CompletionException e = assertThrows(CompletionException.class,
+          () -> executors.submitIo(await(), response).join());
+
+      assertServiceUnavailable(e.getCause());
+    }
+
+    @Test
+    void shouldCancelTaskWhenResponseCompletes() throws InterruptedException {
+      CompletableFuture<String> response = new CompletableFuture<>();
+
+      executors = new RequestExecutors(1, 1, 1, 1, false, Duration.ofSeconds(5));
+      executors.submitCpu(await(), response);
+
+      assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+
+      response.complete("response");
+
+      assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+    }
+  }
+
+  @Nested
+  class ExecuteCpu {
+
+    @Test
+    void shouldThrowServiceUnavailableWhenQueueIsFull() {
+      executors = new RequestExecutors(1, 1, 1, 1, false, Duration.ofSeconds(5));
+      executors.executeCpu(() -> await().get());
+      executors.executeCpu(() -> await().get());
+
+      ResponseStatusException e = assertThrows(ResponseStatusException.class,
+          () -> executors.executeCpu(() -> await().get()));
+
+      assertServiceUnavailable(e);
+    }
+  }
+}
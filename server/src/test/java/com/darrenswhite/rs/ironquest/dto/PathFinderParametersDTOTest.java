@@ -27,6 +27,7 @@ class PathFinderParametersDTOTest {
       assertThat(pathFinderParametersDTO.isRecommended(), is(false));
       assertThat(pathFinderParametersDTO.getLampSkills(), is(new LinkedHashSet<>()));
       assertThat(pathFinderParametersDTO.getQuestPriorities(), is(new LinkedHashMap<>()));
+      assertThat(pathFinderParametersDTO.isDelta(), is(false));
     }
   }
 }
@@ -0,0 +1,17 @@
+package com.darrenswhite.rs.ironquest.dto;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class PlayerDeltaDTOTest {
+
+  @Nested
+  class Equals {
+
+    @Test
+    void shouldVerifyEqualsAndHashCode() {
+      EqualsVerifier.forClass(PlayerDeltaDTO.class).verify();
+    }
+  }
+}
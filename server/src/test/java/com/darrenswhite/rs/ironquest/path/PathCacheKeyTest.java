@@ -0,0 +1,74 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import com.darrenswhite.rs.ironquest.dto.PathFinderParametersDTO;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestStatus;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PathCacheKeyTest {
+
+  @Nested
+  class Equals {
+
+    @Test
+    void shouldVerifyEqualsAndHashCode() {
+      EqualsVerifier.forClass(PathCacheKey.class)
+          .withPrefabValues(Quest.class, new Quest.Builder(0).build(),
+              new Quest.Builder(1).build()).verify();
+    }
+
+    @Test
+    void shouldBeEqualForSamePlayerState() {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+
+      assertThat(new PathCacheKey(parameters, new Player.Builder().withName("name").build()),
+          is(new PathCacheKey(parameters, new Player.Builder().withName("name").build())));
+    }
+
+    @Test
+    void shouldNotBeEqualForDifferentSkillXp() {
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+      Player player = new Player.Builder().build();
+      PathCacheKey key = new PathCacheKey(parameters, player);
+
+      player.addSkillXP(Skill.MINING, 1);
+
+      assertThat(new PathCacheKey(parameters, player), not(key));
+    }
+
+    @Test
+    void shouldNotBeEqualForDifferentCompletedQuests() {
+      Quest quest = new Quest.Builder(0).build();
+      PathFinderParametersDTO parameters = new PathFinderParametersDTO();
+      Player player = new Player.Builder().withQuests(Set.of(quest)).build();
+      PathCacheKey key = new PathCacheKey(parameters, player);
+
+      player.setQuestStatus(quest, QuestStatus.COMPLETED);
+
+      assertThat(new PathCacheKey(parameters, player), not(key));
+    }
+
+    @Test
+    void shouldNotBeEqualForDifferentLampSkillOrder() {
+      Player player = new Player.Builder().build();
+      PathFinderParametersDTO first = new PathFinderParametersDTO();
+      PathFinderParametersDTO second = new PathFinderParametersDTO();
+
+      first.setLampSkills(new LinkedHashSet<>(List.of(Skill.ATTACK, Skill.DEFENCE)));
+      second.setLampSkills(new LinkedHashSet<>(List.of(Skill.DEFENCE, Skill.ATTACK)));
+
+      assertThat(new PathCacheKey(first, player), not(new PathCacheKey(second, player)));
+    }
+  }
+}
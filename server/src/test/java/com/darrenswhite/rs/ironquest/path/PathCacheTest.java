@@ -0,0 +1,175 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+import com.darrenswhite.rs.ironquest.dto.ActionDTO;
+import com.darrenswhite.rs.ironquest.dto.PathDTO;
+import com.darrenswhite.rs.ironquest.dto.PathFinderParametersDTO;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PathCacheTest {
+
+  private static PathCacheKey createKey(double attackXp) {
+    Player player = new Player.Builder().withName("name").build();
+
+    player.addSkillXP(Skill.ATTACK, attackXp);
+
+    return new PathCacheKey(new PathFinderParametersDTO(), player);
+  }
+
+  private static PathDTO createPath(int actions) {
+    return new PathDTO.Builder().withActions(Collections.nCopies(actions, mock(ActionDTO.class)))
+        .build();
+  }
+
+  private static double count(MeterRegistry registry, String result) {
+    return registry.counter("path.cache.requests", "result", result).count();
+  }
+
+  @Nested
+  class Get {
+
+    @Test
+    void shouldReturnPathForEqualKey() {
+      MeterRegistry registry = new SimpleMeterRegistry();
+      PathCache cache = new PathCache(10, 1000, Duration.ofMinutes(1), registry);
+      PathDTO path = mock(PathDTO.class);
+
+      cache.put(createKey(100), path);
+
+      assertThat(cache.get(createKey(100)), is(Optional.of(path)));
+      assertThat(cache.get(createKey(200)), is(Optional.empty()));
+      assertThat(count(registry, "hit"), is(1d));
+      assertThat(count(registry, "miss"), is(1d));
+    }
+
+    @Test
+    void shouldNotReturnExpiredPath() {
+      MeterRegistry registry = new SimpleMeterRegistry();
+      MutableClock clock = new MutableClock();
+      PathCache cache = new PathCache(10, 1000, Duration.ofMinutes(1), registry, clock);
+
+      cache.put(createKey(100), mock(PathDTO.class));
+      clock.millis += Duration.ofMinutes(1).toMillis();
+
+      assertThat(cache.get(createKey(100)), is(Optional.empty()));
+      assertThat(cache.size(), is(0));
+      assertThat(count(registry, "miss"), is(1d));
+    }
+  }
+
+  @Nested
+  class Put {
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+      PathCache cache = new PathCache(2, 1000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+      PathDTO first = mock(PathDTO.class);
+      PathDTO third = mock(PathDTO.class);
+
+      cache.put(createKey(1), first);
+      cache.put(createKey(2), mock(PathDTO.class));
+      cache.get(createKey(1));
+      cache.put(createKey(3), third);
+
+      assertThat(cache.size(), is(2));
+      assertThat(cache.get(createKey(1)), is(Optional.of(first)));
+      assertThat(cache.get(createKey(2)), is(Optional.empty()));
+      assertThat(cache.get(createKey(3)), is(Optional.of(third)));
+    }
+
+    @Test
+    void shouldEvictExpiredBeforeLeastRecentlyUsed() {
+      MutableClock clock = new MutableClock();
+      PathCache cache = new PathCache(2, 1000, Duration.ofMinutes(1), new SimpleMeterRegistry(), clock);
+      PathDTO second = mock(PathDTO.class);
+
+      cache.put(createKey(1), mock(PathDTO.class));
+      clock.millis += Duration.ofSeconds(30).toMillis();
+      cache.put(createKey(2), second);
+      cache.get(createKey(1));
+      clock.millis += Duration.ofSeconds(30).toMillis();
+      cache.put(createKey(3), mock(PathDTO.class));
+
+      assertThat(cache.size(), is(2));
+      assertThat(cache.get(createKey(2)), is(Optional.of(second)));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenTooManyActions() {
+      PathCache cache = new PathCache(10, 5, Duration.ofMinutes(1), new SimpleMeterRegistry());
+      PathDTO second = createPath(2);
+      PathDTO third = createPath(3);
+
+      cache.put(createKey(1), createPath(2));
+      cache.put(createKey(2), second);
+      cache.put(createKey(3), third);
+
+      assertThat(cache.size(), is(2));
+      assertThat(cache.actions(), is(5L));
+      assertThat(cache.get(createKey(1)), is(Optional.empty()));
+      assertThat(cache.get(createKey(2)), is(Optional.of(second)));
+      assertThat(cache.get(createKey(3)), is(Optional.of(third)));
+    }
+
+    @Test
+    void shouldNotCachePathWithTooManyActions() {
+      PathCache cache = new PathCache(10, 5, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+      cache.put(createKey(1), createPath(6));
+
+      assertThat(cache.size(), is(0));
+      assertThat(cache.actions(), is(0L));
+    }
+
+    @Test
+    void shouldReplaceActionsForSameKey() {
+      PathCache cache = new PathCache(10, 5, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+      cache.put(createKey(1), createPath(4));
+      cache.put(createKey(1), createPath(3));
+
+      assertThat(cache.size(), is(1));
+      assertThat(cache.actions(), is(3L));
+    }
+  }
+
+  private static class MutableClock extends Clock {
+
+    private long millis;
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+}
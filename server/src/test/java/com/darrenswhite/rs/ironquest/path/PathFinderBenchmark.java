@@ -0,0 +1,166 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmId;
+import com.darrenswhite.rs.ironquest.path.algorithm.DefaultAlgorithm;
+import com.darrenswhite.rs.ironquest.path.algorithm.PathFinderAlgorithm;
+import com.darrenswhite.rs.ironquest.path.algorithm.SmartPriorities;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestPriority;
+import com.darrenswhite.rs.ironquest.player.QuestStatus;
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * JMH benchmark of {@link PathFinder#find()} for each {@link PathFinderAlgorithm} against the real
+ * <tt>quests.json</tt>, for a number of representative {@link Profile}s.
+ *
+ * @author Darren S. White
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathFinderBenchmark {
+
+  @Param
+  private Profile profile;
+
+  @Param({"DEFAULT", "SMART_PRIORITIES"})
+  private AlgorithmId algorithm;
+
+  private QuestRepository questRepository;
+  private PathFinderAlgorithm pathFinderAlgorithm;
+  private Player player;
+
+  @Setup(Level.Trial)
+  public void setupTrial() throws IOException {
+    questRepository = new QuestRepository(new ClassPathResource("quests.json"),
+        new ObjectMapper());
+    pathFinderAlgorithm =
+        algorithm == AlgorithmId.SMART_PRIORITIES ? new SmartPriorities() : new DefaultAlgorithm();
+  }
+
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    player = profile.create(questRepository);
+  }
+
+  @Benchmark
+  public Path find() throws QuestNotFoundException {
+    return new PathFinder(player, pathFinderAlgorithm).find();
+  }
+
+  /**
+   * Representative {@link Player}s to find a {@link Path} for.
+   */
+  public enum Profile {
+
+    /**
+     * A new account with no quests completed.
+     */
+    FRESH {
+      @Override
+      Player create(QuestRepository questRepository) {
+        return builder(questRepository).build();
+      }
+    },
+
+    /**
+     * Skills between level 45 and 64, with a third of the quests without quest requirements
+     * completed.
+     */
+    MID_GAME {
+      @Override
+      Player create(QuestRepository questRepository) {
+        Player player = builder(questRepository)
+            .withSkillXps(skillXps(skill -> 45 + skill.ordinal() % 20)).build();
+
+        for (Quest quest : questRepository.getQuests()) {
+          if (quest.getId() % 3 == 0 && quest.getRequirements().getQuests().isEmpty()) {
+            player.setQuestStatus(quest, QuestStatus.COMPLETED);
+          }
+        }
+
+        return player;
+      }
+    },
+
+    /**
+     * Skills two levels below their maximum level, with no quests completed.
+     */
+    NEAR_MAX {
+      @Override
+      Player create(QuestRepository questRepository) {
+        return builder(questRepository).withSkillXps(skillXps(skill -> skill.getMaxLevel() - 2)).build();
+      }
+    },
+
+    /**
+     * A new ironman account with no quests completed.
+     */
+    IRONMAN {
+      @Override
+      Player create(QuestRepository questRepository) {
+        return builder(questRepository).withIronman(true).build();
+      }
+    },
+
+    /**
+     * A new account with a priority set for every 17th quest.
+     */
+    PRIORITIES {
+      @Override
+      Player create(QuestRepository questRepository) {
+        Player player = builder(questRepository).build();
+        QuestPriority[] priorities = QuestPriority.values();
+
+        for (Quest quest : questRepository.getQuests()) {
+          if (quest.getId() % 17 == 0) {
+            player.setQuestPriority(quest, priorities[quest.getId() % priorities.length]);
+          }
+        }
+
+        return player;
+      }
+    };
+
+    private static Player.Builder builder(QuestRepository questRepository) {
+      return new Player.Builder().withQuests(questRepository.getQuests())
+          .withCatalogue(questRepository.getCatalogue());
+    }
+
+    private static Map<Skill, Double> skillXps(ToIntFunction<Skill> level) {
+      Map<Skill, Double> skillXps = new EnumMap<>(Skill.class);
+
+      for (Skill skill : Skill.values()) {
+        skillXps.put(skill, skill.getXpAtLevel(level.applyAsInt(skill)));
+      }
+
+      return skillXps;
+    }
+
+    abstract Player create(QuestRepository questRepository);
+  }
+}
@@ -0,0 +1,100 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.darrenswhite.rs.ironquest.action.Action;
+import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmFactory;
+import com.darrenswhite.rs.ironquest.path.algorithm.AlgorithmId;
+import com.darrenswhite.rs.ironquest.path.algorithm.DefaultAlgorithm;
+import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PathFinderServiceTest {
+
+  SimpleMeterRegistry meterRegistry;
+  PathFinderService pathFinderService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    pathFinderService = new PathFinderService(
+        new AlgorithmFactory(Set.of(new DefaultAlgorithm())), meterRegistry, 0);
+  }
+
+  Player createPlayer() {
+    return new Player.Builder().withQuests(
+        Set.of(new Quest.Builder(0).withDisplayName("quest0").build(),
+            new Quest.Builder(1).withDisplayName("quest1").build())).build();
+  }
+
+  @Nested
+  class Find {
+
+    @Test
+    void shouldRecordMetersForAlgorithm() throws QuestNotFoundException {
+      Path path = pathFinderService.find(createPlayer(), AlgorithmId.DEFAULT);
+
+      assertThat(path.getActions(), hasSize(2));
+      assertThat(meterRegistry.get("path.find").tag("algorithm", "DEFAULT")
+          .tag("outcome", "success").timer().count(), is(1L));
+      assertThat(meterRegistry.get("path.actions").tag("algorithm", "DEFAULT").summary()
+          .totalAmount(), is(2D));
+      assertThat(meterRegistry.get("path.iterations").tag("algorithm", "DEFAULT").summary()
+          .totalAmount(), is(2D));
+    }
+
+    @Test
+    void shouldPassActionsToListener() throws QuestNotFoundException {
+      List<Action> actions = new ArrayList<>();
+
+      Path path = pathFinderService.find(createPlayer(), AlgorithmId.DEFAULT, actions::add);
+
+      assertThat(actions, contains(path.getActions().toArray()));
+      assertThat(meterRegistry.get("path.find").tag("algorithm", "DEFAULT")
+          .tag("outcome", "success").timer().count(), is(1L));
+    }
+
+    @Test
+    void shouldRecordFailedFind() {
+      assertThrows(IllegalStateException.class,
+          () -> pathFinderService.find(createPlayer(), AlgorithmId.DEFAULT, action -> {
+            throw new IllegalStateException();
+          }));
+
+      assertThat(meterRegistry.get("path.find").tag("algorithm", "DEFAULT")
+          .tag("outcome", "failure").timer().count(), is(1L));
+      assertThat(meterRegistry.find("path.actions").summary(), nullValue());
+    }
+  }
+
+  @Nested
+  class ScoringPool {
+
+    @Test
+    void shouldFindSamePathWhenScoringConcurrently() throws QuestNotFoundException {
+      PathFinderService parallelPathFinderService = new PathFinderService(
+          new AlgorithmFactory(Set.of(new DefaultAlgorithm())), meterRegistry, 2);
+
+      try {
+        Path path = parallelPathFinderService.find(createPlayer(), AlgorithmId.DEFAULT);
+
+        assertThat(path, is(pathFinderService.find(createPlayer(), AlgorithmId.DEFAULT)));
+      } finally {
+        parallelPathFinderService.shutdown();
+        pathFinderService.shutdown();
+      }
+    }
+  }
+}
@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.player.Player;
 import com.darrenswhite.rs.ironquest.player.QuestStatus;
 import com.darrenswhite.rs.ironquest.player.Skill;
@@ -16,9 +17,12 @@ import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
 import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
 import com.darrenswhite.rs.ironquest.quest.reward.LampType;
 import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -41,8 +45,10 @@ class PathFinderTest {
       player.setQuestStatus(questCompleted, QuestStatus.COMPLETED);
       player.setQuestStatus(questInProgress, QuestStatus.IN_PROGRESS);
 
-      Path path = new PathFinder(player).find();
+      PathFinder pathFinder = new PathFinder(player);
+      Path path = pathFinder.find();
 
+      assertThat(pathFinder.getIterations(), is(2));
       assertThat(path.getActions(), hasSize(2));
       assertThat(path.getActions().get(0).getMessage(), is("questInProgress"));
       assertThat(path.getActions().get(1).getMessage(), is("questNotStarted"));
@@ -79,6 +85,28 @@ class PathFinderTest {
       assertThat(path.getStats().getPercentComplete(), is(33D));
     }
 
+    @Test
+    void shouldPublishActionsInPathOrder() throws QuestNotFoundException {
+      Quest questWithXpLampReward = new Quest.Builder().withId(0)
+          .withDisplayName("questWithXpLampReward").withRewards(new QuestRewards.Builder()
+              .withLamps(Set.of(new LampReward.Builder(0).withType(LampType.XP).withXp(1000)
+                  .withRequirements(Map.of(Set.of(Skill.ATTACK), 2)).build())).build()).build();
+      Quest questWithQuestRequirementAndXpReward = new Quest.Builder().withId(1)
+          .withDisplayName("questWithXpReward").withRequirements(new QuestRequirements.Builder()
+              .withQuests(Collections
+                  .singleton(new QuestRequirement.Builder(questWithXpLampReward).build())).build())
+          .withRewards(new QuestRewards.Builder().withXp(Map.of(Skill.ATTACK, 500d)).build())
+          .build();
+      Player player = new Player.Builder()
+          .withQuests(Set.of(questWithXpLampReward, questWithQuestRequirementAndXpReward)).build();
+      List<Action> publishedActions = new ArrayList<>();
+
+      Path path = new PathFinder(player).find(publishedActions::add);
+
+      assertThat(path.getActions(), hasSize(3));
+      assertThat(publishedActions, is(path.getActions()));
+    }
+
     @Test
     void shouldAddFutureActions() throws QuestNotFoundException {
       Quest questWithXpLampReward = new Quest.Builder().withId(0)
@@ -131,5 +159,25 @@ class PathFinderTest {
 
       assertThrows(QuestNotFoundException.class, () -> new PathFinder(player).find());
     }
+
+    @Test
+    void shouldStopWhenInterrupted() {
+      Quest first = new Quest.Builder().withId(0).withDisplayName("first").build();
+      Quest second = new Quest.Builder().withId(1).withDisplayName("second").build();
+      Player player = new Player.Builder().withQuests(Set.of(first, second)).build();
+      List<Action> publishedActions = new ArrayList<>();
+
+      try {
+        assertThrows(CancellationException.class, () -> new PathFinder(player).find(action -> {
+          publishedActions.add(action);
+          Thread.currentThread().interrupt();
+        }));
+      } finally {
+        Thread.interrupted();
+      }
+
+      assertThat(publishedActions, hasSize(1));
+      assertThat(player.getIncompleteQuests(), hasSize(1));
+    }
   }
 }
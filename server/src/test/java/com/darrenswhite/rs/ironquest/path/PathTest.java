@@ -2,6 +2,7 @@ package com.darrenswhite.rs.ironquest.path;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 import com.darrenswhite.rs.ironquest.action.Action;
 import com.darrenswhite.rs.ironquest.action.LampAction;
@@ -15,6 +16,7 @@ import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
 import com.darrenswhite.rs.ironquest.quest.reward.LampType;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Nested;
@@ -45,6 +47,29 @@ class PathTest {
     }
   }
 
+  @Nested
+  class CreateDeltaDTO {
+
+    @Test
+    void shouldIncludeFullPlayerForFirstActionOnly() {
+      Player player = new Player.Builder().build();
+      TrainAction firstAction = new TrainAction(player, Skill.ATTACK, 0, 100);
+
+      player.addSkillXP(Skill.ATTACK, 100);
+
+      TrainAction secondAction = new TrainAction(player, Skill.ATTACK, 100, 200);
+      List<Action> actions = new LinkedList<>(List.of(firstAction, secondAction));
+      Path path = new Path(actions, new PathStats(0));
+
+      PathDTO dto = path.createDeltaDTO();
+
+      assertThat(dto.getActions().get(0), is(path.createDTO().getActions().get(0)));
+      assertThat(dto.getActions().get(0).getDelta(), nullValue());
+      assertThat(dto.getActions().get(1).getPlayer(), nullValue());
+      assertThat(dto.getActions().get(1).getDelta().getLevels(), is(Map.of(Skill.ATTACK, 1)));
+    }
+  }
+
   @Nested
   class Equals {
 
@@ -5,11 +5,23 @@ import static org.hamcrest.Matchers.is;
 
 import com.darrenswhite.rs.ironquest.path.algorithm.DefaultAlgorithm;
 import com.darrenswhite.rs.ironquest.player.Player;
+import com.darrenswhite.rs.ironquest.player.QuestStatus;
+import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -38,4 +50,94 @@ class QuestIteratorTest {
           Arguments.of(Set.of(questWithNoRequirements), true));
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  class Next {
+
+    @Test
+    void shouldUnlockQuestWhenQuestRequirementIsCompleted() {
+      Quest questWithNoRequirements = new Quest.Builder().withId(0)
+          .withDisplayName("questWithNoRequirements").build();
+      Quest questWithQuestRequirement = new Quest.Builder().withId(1)
+          .withDisplayName("questWithQuestRequirement").withRequirements(
+              new QuestRequirements.Builder().withQuests(
+                  Set.of(new QuestRequirement.Builder(questWithNoRequirements).build())).build())
+          .build();
+      Player player = new Player.Builder()
+          .withQuests(Set.of(questWithNoRequirements, questWithQuestRequirement)).build();
+      QuestIterator iterator = new QuestIterator(player, new DefaultAlgorithm());
+
+      assertThat(iterator.hasNext(), is(true));
+      assertThat(iterator.next(), is(questWithNoRequirements));
+
+      player.setQuestStatus(questWithNoRequirements, QuestStatus.COMPLETED);
+
+      assertThat(iterator.hasNext(), is(true));
+      assertThat(iterator.next(), is(questWithQuestRequirement));
+
+      player.setQuestStatus(questWithQuestRequirement, QuestStatus.COMPLETED);
+
+      assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    void shouldUnlockQuestWhenQuestPointsChange() {
+      Quest questWithQuestPointReward = new Quest.Builder().withId(0)
+          .withDisplayName("questWithQuestPointReward")
+          .withRewards(new QuestRewards.Builder().withQuestPoints(1).build()).build();
+      Quest questWithQuestPointRequirement = new Quest.Builder().withId(1)
+          .withDisplayName("questWithQuestPointRequirement").withRequirements(
+              new QuestRequirements.Builder()
+                  .withQuestPoints(new QuestPointsRequirement.Builder(1).build()).build()).build();
+      Player player = new Player.Builder()
+          .withQuests(Set.of(questWithQuestPointReward, questWithQuestPointRequirement)).build();
+      QuestIterator iterator = new QuestIterator(player, new DefaultAlgorithm());
+
+      assertThat(iterator.hasNext(), is(true));
+      assertThat(iterator.next(), is(questWithQuestPointReward));
+
+      player.setQuestStatus(questWithQuestPointReward, QuestStatus.COMPLETED);
+
+      assertThat(iterator.hasNext(), is(true));
+      assertThat(iterator.next(), is(questWithQuestPointRequirement));
+    }
+  }
+
+  @Nested
+  class ScoringPool {
+
+    @Test
+    void shouldReturnQuestsInSameOrderAsSequentialScoring() {
+      Set<Quest> quests = new HashSet<>();
+
+      for (int i = 0; i < 20; i++) {
+        quests.add(new Quest.Builder().withId(i).withDisplayName("quest" + i).withRewards(
+            new QuestRewards.Builder().withXp(Map.of(Skill.values()[i % 5], (i % 7) * 100d))
+                .build()).build());
+      }
+
+      ForkJoinPool scoringPool = new ForkJoinPool(4);
+
+      try {
+        assertThat(iterate(quests, scoringPool), is(iterate(quests, null)));
+      } finally {
+        scoringPool.shutdown();
+      }
+    }
+
+    List<Quest> iterate(Set<Quest> quests, ForkJoinPool scoringPool) {
+      Player player = new Player.Builder().withQuests(quests).build();
+      QuestIterator iterator = new QuestIterator(player, new DefaultAlgorithm(), scoringPool);
+      List<Quest> order = new ArrayList<>();
+
+      while (iterator.hasNext()) {
+        Quest quest = iterator.next();
+
+        order.add(quest);
+        player.completeQuest(quest).forEach(action -> action.process(player));
+      }
+
+      return order;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.darrenswhite.rs.ironquest.path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.darrenswhite.rs.ironquest.path.algorithm.QuestScore;
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestQueueTest {
+
+  static final Quest QUEST_A = new Quest.Builder(0).build();
+  static final Quest QUEST_B = new Quest.Builder(1).build();
+  static final Quest QUEST_C = new Quest.Builder(2).build();
+
+  @Nested
+  class Peek {
+
+    @Test
+    void shouldReturnNullWhenEmpty() {
+      assertThat(new QuestQueue().peek(), is(nullValue()));
+    }
+
+    @Test
+    void shouldReturnHighestScore() {
+      QuestQueue queue = new QuestQueue();
+
+      queue.put(QUEST_A, new QuestScore(QUEST_A, () -> 1));
+      queue.put(QUEST_B, new QuestScore(QUEST_B, () -> 3));
+      queue.put(QUEST_C, new QuestScore(QUEST_C, () -> 2));
+
+      assertThat(queue.peek(), is(QUEST_B));
+    }
+
+    @Test
+    void shouldBreakTiesByQuestId() {
+      QuestQueue queue = new QuestQueue();
+
+      queue.put(QUEST_B, new QuestScore(QUEST_B, () -> 1));
+      queue.put(QUEST_C, new QuestScore(QUEST_C, () -> 1));
+      queue.put(QUEST_A, new QuestScore(QUEST_A, () -> 1));
+
+      assertThat(queue.peek(), is(QUEST_C));
+    }
+  }
+
+  @Nested
+  class Put {
+
+    @Test
+    void shouldReorderWhenScoreIsUpdated() {
+      QuestQueue queue = new QuestQueue();
+
+      queue.put(QUEST_A, new QuestScore(QUEST_A, () -> 1));
+      queue.put(QUEST_B, new QuestScore(QUEST_B, () -> 2));
+      queue.put(QUEST_C, new QuestScore(QUEST_C, () -> 3));
+
+      queue.put(QUEST_C, new QuestScore(QUEST_C, () -> 0));
+
+      assertThat(queue.peek(), is(QUEST_B));
+
+      queue.put(QUEST_A, new QuestScore(QUEST_A, () -> 4));
+
+      assertThat(queue.peek(), is(QUEST_A));
+      assertThat(queue.size(), is(3));
+    }
+  }
+
+  @Nested
+  class Remove {
+
+    @Test
+    void shouldRemoveQuest() {
+      QuestQueue queue = new QuestQueue();
+
+      queue.put(QUEST_A, new QuestScore(QUEST_A, () -> 1));
+      queue.put(QUEST_B, new QuestScore(QUEST_B, () -> 2));
+      queue.put(QUEST_C, new QuestScore(QUEST_C, () -> 3));
+
+      queue.remove(QUEST_C);
+
+      assertThat(queue.peek(), is(QUEST_B));
+      assertThat(queue.contains(QUEST_C), is(false));
+
+      queue.remove(QUEST_B);
+      queue.remove(QUEST_A);
+
+      assertThat(queue.peek(), is(nullValue()));
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.darrenswhite.rs.ironquest.path.algorithm;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestScoreTest {
+
+  static final Quest QUEST_A = new Quest.Builder(0).build();
+  static final Quest QUEST_B = new Quest.Builder(1).build();
+
+  @Nested
+  class CompareTo {
+
+    @Test
+    void shouldCompareValuesLexicographically() {
+      assertThat(new QuestScore(QUEST_A, () -> 2, () -> 0).compareTo(new QuestScore(QUEST_B, () -> 1, () -> 5)),
+          greaterThan(0));
+      assertThat(new QuestScore(QUEST_A, () -> 1, () -> 0).compareTo(new QuestScore(QUEST_B, () -> 1, () -> 5)),
+          lessThan(0));
+    }
+
+    @Test
+    void shouldCompareQuestIdWhenValuesAreEqual() {
+      assertThat(new QuestScore(QUEST_A, () -> 1, () -> 2).compareTo(new QuestScore(QUEST_B, () -> 1, () -> 2)),
+          lessThan(0));
+    }
+  }
+
+  @Nested
+  class GetValue {
+
+    @Test
+    void shouldOnlyComputeComponentsWhenNeeded() {
+      QuestScore score = new QuestScore(QUEST_A, () -> 1, () -> {
+        throw new IllegalStateException();
+      });
+
+      assertThat(score.compareTo(new QuestScore(QUEST_B, () -> 0, () -> 0)), greaterThan(0));
+    }
+
+    @Test
+    void shouldRememberComputedComponents() {
+      AtomicInteger count = new AtomicInteger();
+      QuestScore score = new QuestScore(QUEST_A, count::incrementAndGet);
+
+      assertThat(score.getValue(0), is(1D));
+      assertThat(score.getValue(0), is(1D));
+    }
+  }
+
+  @Nested
+  class ComputeAll {
+
+    @Test
+    void shouldComputeEveryComponentOnce() {
+      AtomicInteger count = new AtomicInteger();
+      QuestScore score = new QuestScore(QUEST_A, count::incrementAndGet, count::incrementAndGet);
+
+      score.computeAll();
+      score.computeAll();
+
+      assertThat(count.get(), is(2));
+      assertThat(score.getValue(1), is(2D));
+    }
+
+    @Test
+    void shouldAllowNoComponents() {
+      QuestScore score = new QuestScore(QUEST_A);
+
+      score.computeAll();
+
+      assertThat(score.compareTo(new QuestScore(QUEST_B)), lessThan(0));
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class HiscoreClientTest {
+
+  static final String HISCORES_FILE = "hiscores.csv";
+
+  static HttpServer server;
+  static String url;
+
+  @BeforeAll
+  static void beforeAll() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/hiscores", exchange -> {
+      String query = exchange.getRequestURI().getQuery();
+
+      if (query.equals("player=slow")) {
+        try {
+          Thread.sleep(2000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      if (query.equals("player=missing")) {
+        exchange.sendResponseHeaders(404, -1);
+      } else {
+        try (InputStream in = Objects.requireNonNull(
+            HiscoreClientTest.class.getClassLoader().getResourceAsStream(HISCORES_FILE))) {
+          byte[] body = in.readAllBytes();
+
+          exchange.sendResponseHeaders(200, body.length);
+
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        }
+      }
+
+      exchange.close();
+    });
+    server.start();
+
+    url = "http://localhost:" + server.getAddress().getPort() + "/hiscores?player=%s";
+  }
+
+  @AfterAll
+  static void afterAll() {
+    server.stop(0);
+  }
+
+  @Nested
+  class Fetch {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldParseXPForEachSkill() {
+      HiscoreClient hiscoreClient = new HiscoreClient(url, Duration.ofSeconds(5),
+          Duration.ofSeconds(5), meterRegistry);
+
+      Map<Skill, Double> loadedSkills = hiscoreClient.fetch("user").join();
+
+      assertThat(loadedSkills, aMapWithSize(28));
+      assertThat(loadedSkills.get(Skill.ATTACK), is(737627D));
+      assertThat(loadedSkills.get(Skill.DEFENCE), is(28782069D));
+      assertThat(loadedSkills.get(Skill.STRENGTH), is(165576D));
+      assertThat(loadedSkills.get(Skill.CONSTITUTION), is(1154D));
+      assertThat(loadedSkills.get(Skill.RANGED), is(10692629D));
+      assertThat(loadedSkills.get(Skill.PRAYER), is(3597792D));
+      assertThat(loadedSkills.get(Skill.MAGIC), is(19368992D));
+      assertThat(loadedSkills.get(Skill.COOKING), is(8740D));
+      assertThat(loadedSkills.get(Skill.WOODCUTTING), is(203254D));
+      assertThat(loadedSkills.get(Skill.FLETCHING), is(12031D));
+      assertThat(loadedSkills.get(Skill.FISHING), is(63555443D));
+      assertThat(loadedSkills.get(Skill.FIREMAKING), is(2421087D));
+      assertThat(loadedSkills.get(Skill.CRAFTING), is(22406D));
+      assertThat(loadedSkills.get(Skill.SMITHING), is(6291D));
+      assertThat(loadedSkills.get(Skill.MINING), is(3973D));
+      assertThat(loadedSkills.get(Skill.HERBLORE), is(3523D));
+      assertThat(loadedSkills.get(Skill.AGILITY), is(0D));
+      assertThat(loadedSkills.get(Skill.THIEVING), is(0D));
+      assertThat(loadedSkills.get(Skill.SLAYER), is(1D));
+      assertThat(loadedSkills.get(Skill.FARMING), is(83014D));
+      assertThat(loadedSkills.get(Skill.RUNECRAFTING), is(104273167D));
+      assertThat(loadedSkills.get(Skill.HUNTER), is(111945D));
+      assertThat(loadedSkills.get(Skill.CONSTRUCTION), is(20224D));
+      assertThat(loadedSkills.get(Skill.SUMMONING), is(28782069D));
+      assertThat(loadedSkills.get(Skill.DUNGEONEERING), is(55649D));
+      assertThat(loadedSkills.get(Skill.DIVINATION), is(1833D));
+      assertThat(loadedSkills.get(Skill.INVENTION), is(80618654D));
+      assertThat(loadedSkills.get(Skill.ARCHAEOLOGY), is(58376D));
+      assertThat(meterRegistry.get("hiscores.fetch").tag("outcome", "success").timer().count(),
+          is(1L));
+    }
+
+    @Test
+    void shouldFailForUnexpectedStatus() {
+      HiscoreClient hiscoreClient = new HiscoreClient(url, Duration.ofSeconds(5),
+          Duration.ofSeconds(5), meterRegistry);
+
+      CompletionException e = assertThrows(CompletionException.class,
+          () -> hiscoreClient.fetch("missing").join());
+
+      assertThat(e.getCause().getCause(), instanceOf(IOException.class));
+      assertThat(meterRegistry.get("hiscores.fetch").tag("outcome", "failure").timer().count(),
+          is(1L));
+    }
+
+    @Test
+    void shouldFailWhenReadTimeoutExceeded() {
+      HiscoreClient hiscoreClient = new HiscoreClient(url, Duration.ofSeconds(5),
+          Duration.ofMillis(100), meterRegistry);
+
+      CompletionException e = assertThrows(CompletionException.class,
+          () -> hiscoreClient.fetch("slow").join());
+
+      assertThat(e.getCause(), is(instanceOf(HttpTimeoutException.class)));
+    }
+  }
+}
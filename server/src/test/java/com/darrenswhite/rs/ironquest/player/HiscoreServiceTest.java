@@ -1,70 +1,159 @@
 package com.darrenswhite.rs.ironquest.player;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.is;
-import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Map;
-import java.util.Objects;
-import org.junit.jupiter.api.BeforeAll;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 class HiscoreServiceTest {
 
-  static final String HISCORES_FILE = "hiscores.csv";
+  static final Duration TTL = Duration.ofMinutes(10);
+  static final Duration STALE = Duration.ofHours(1);
+  static final Map<Skill, Double> SKILL_XPS = Map.of(Skill.ATTACK, 100D);
+  static final Map<Skill, Double> NEW_SKILL_XPS = Map.of(Skill.ATTACK, 200D);
 
-  static HiscoreService hiscoreService;
+  HiscoreClient hiscoreClient;
+  Clock clock;
+  HiscoreService hiscoreService;
 
-  @BeforeAll
-  static void beforeAll() {
-    String url = Objects
-        .requireNonNull(HiscoreServiceTest.class.getClassLoader().getResource(HISCORES_FILE))
-        .toString();
-
-    hiscoreService = new HiscoreService(url);
+  @BeforeEach
+  void setUp() {
+    hiscoreClient = mock(HiscoreClient.class);
+    clock = mock(Clock.class);
+    hiscoreService = new HiscoreService(hiscoreClient, TTL, STALE, 10, clock);
   }
 
   @Nested
   class Load {
 
     @Test
-    void shouldParseXPForEachSkill() {
-      String name = "user";
-
-      Map<Skill, Double> loadedSkills = hiscoreService.load(name);
-
-      assertThat(loadedSkills, notNullValue());
-      assertThat(loadedSkills, aMapWithSize(28));
-      assertThat(loadedSkills.get(Skill.ATTACK), is(737627D));
-      assertThat(loadedSkills.get(Skill.DEFENCE), is(28782069D));
-      assertThat(loadedSkills.get(Skill.STRENGTH), is(165576D));
-      assertThat(loadedSkills.get(Skill.CONSTITUTION), is(1154D));
-      assertThat(loadedSkills.get(Skill.RANGED), is(10692629D));
-      assertThat(loadedSkills.get(Skill.PRAYER), is(3597792D));
-      assertThat(loadedSkills.get(Skill.MAGIC), is(19368992D));
-      assertThat(loadedSkills.get(Skill.COOKING), is(8740D));
-      assertThat(loadedSkills.get(Skill.WOODCUTTING), is(203254D));
-      assertThat(loadedSkills.get(Skill.FLETCHING), is(12031D));
-      assertThat(loadedSkills.get(Skill.FISHING), is(63555443D));
-      assertThat(loadedSkills.get(Skill.FIREMAKING), is(2421087D));
-      assertThat(loadedSkills.get(Skill.CRAFTING), is(22406D));
-      assertThat(loadedSkills.get(Skill.SMITHING), is(6291D));
-      assertThat(loadedSkills.get(Skill.MINING), is(3973D));
-      assertThat(loadedSkills.get(Skill.HERBLORE), is(3523D));
-      assertThat(loadedSkills.get(Skill.AGILITY), is(0D));
-      assertThat(loadedSkills.get(Skill.THIEVING), is(0D));
-      assertThat(loadedSkills.get(Skill.SLAYER), is(1D));
-      assertThat(loadedSkills.get(Skill.FARMING), is(83014D));
-      assertThat(loadedSkills.get(Skill.RUNECRAFTING), is(104273167D));
-      assertThat(loadedSkills.get(Skill.HUNTER), is(111945D));
-      assertThat(loadedSkills.get(Skill.CONSTRUCTION), is(20224D));
-      assertThat(loadedSkills.get(Skill.SUMMONING), is(28782069D));
-      assertThat(loadedSkills.get(Skill.DUNGEONEERING), is(55649D));
-      assertThat(loadedSkills.get(Skill.DIVINATION), is(1833D));
-      assertThat(loadedSkills.get(Skill.INVENTION), is(80618654D));
-      assertThat(loadedSkills.get(Skill.ARCHAEOLOGY), is(58376D));
+    void shouldReturnCachedXPForSameName() {
+      when(hiscoreClient.fetch("user")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS));
+
+      assertThat(hiscoreService.load("user"), is(SKILL_XPS));
+      assertThat(hiscoreService.load(" USER "), is(SKILL_XPS));
+
+      verify(hiscoreClient, times(1)).fetch("user");
+    }
+
+    @Test
+    void shouldShareFetchForConcurrentRequests() {
+      CompletableFuture<Map<Skill, Double>> future = new CompletableFuture<>();
+
+      when(hiscoreClient.fetch("user")).thenReturn(future);
+
+      CompletableFuture<Map<Skill, Double>> first = hiscoreService.loadAsync("user");
+      CompletableFuture<Map<Skill, Double>> second = hiscoreService.loadAsync("user");
+
+      future.complete(SKILL_XPS);
+
+      assertThat(first.join(), is(SKILL_XPS));
+      assertThat(second.join(), is(SKILL_XPS));
+      verify(hiscoreClient, times(1)).fetch("user");
+    }
+
+    @Test
+    void shouldReturnStaleXPWhileRefreshing() {
+      CompletableFuture<Map<Skill, Double>> refresh = new CompletableFuture<>();
+
+      when(hiscoreClient.fetch("user")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS))
+          .thenReturn(refresh);
+
+      hiscoreService.load("user");
+
+      when(clock.millis()).thenReturn(TTL.toMillis());
+
+      assertThat(hiscoreService.load("user"), is(SKILL_XPS));
+      assertThat(hiscoreService.load("user"), is(SKILL_XPS));
+
+      refresh.complete(NEW_SKILL_XPS);
+
+      assertThat(hiscoreService.load("user"), is(NEW_SKILL_XPS));
+      verify(hiscoreClient, times(2)).fetch("user");
+    }
+
+    @Test
+    void shouldFetchAgainWhenStalePeriodHasPassed() {
+      when(hiscoreClient.fetch("user")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS))
+          .thenReturn(CompletableFuture.completedFuture(NEW_SKILL_XPS));
+
+      hiscoreService.load("user");
+
+      when(clock.millis()).thenReturn(TTL.plus(STALE).toMillis());
+
+      assertThat(hiscoreService.load("user"), is(NEW_SKILL_XPS));
+    }
+
+    @Test
+    void shouldNotCacheFailures() {
+      when(hiscoreClient.fetch("user"))
+          .thenReturn(CompletableFuture.failedFuture(new IOException("failed")))
+          .thenReturn(CompletableFuture.completedFuture(SKILL_XPS));
+
+      assertThat(hiscoreService.load("user"), is(anEmptyMap()));
+      assertThat(hiscoreService.load("user"), is(SKILL_XPS));
+    }
+
+    @Test
+    void shouldKeepStaleXPWhenRefreshFails() {
+      when(hiscoreClient.fetch("user")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS))
+          .thenReturn(CompletableFuture.failedFuture(new IOException("failed")));
+
+      hiscoreService.load("user");
+
+      when(clock.millis()).thenReturn(TTL.toMillis());
+
+      assertThat(hiscoreService.load("user"), is(SKILL_XPS));
+      assertThat(hiscoreService.load("user"), is(SKILL_XPS));
+    }
+
+    @Test
+    void shouldEvictOldestWhenFull() {
+      hiscoreService = new HiscoreService(hiscoreClient, TTL, STALE, 1, clock);
+
+      when(hiscoreClient.fetch("first")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS));
+      when(hiscoreClient.fetch("second")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS));
+
+      hiscoreService.load("first");
+      when(clock.millis()).thenReturn(1L);
+      hiscoreService.load("second");
+      hiscoreService.load("second");
+      hiscoreService.load("first");
+
+      verify(hiscoreClient, times(2)).fetch("first");
+      verify(hiscoreClient, times(1)).fetch("second");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenFull() {
+      hiscoreService = new HiscoreService(hiscoreClient, TTL, STALE, 2, clock);
+
+      when(hiscoreClient.fetch("first")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS));
+      when(hiscoreClient.fetch("second")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS));
+      when(hiscoreClient.fetch("third")).thenReturn(CompletableFuture.completedFuture(SKILL_XPS));
+
+      hiscoreService.load("first");
+      hiscoreService.load("second");
+      hiscoreService.load("first");
+      hiscoreService.load("third");
+      hiscoreService.load("first");
+      hiscoreService.load("second");
+
+      verify(hiscoreClient, times(1)).fetch("first");
+      verify(hiscoreClient, times(2)).fetch("second");
+      verify(hiscoreClient, times(1)).fetch("third");
     }
   }
 }
@@ -0,0 +1,60 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * JMH benchmark of {@link Player#copy()} for a {@link Player} with all of the real quests.
+ *
+ * @author Darren S. White
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+  private Player player;
+  private Quest quest;
+
+  @Setup
+  public void setup() throws IOException {
+    QuestRepository questRepository = new QuestRepository(new ClassPathResource("quests.json"),
+        new ObjectMapper());
+
+    player = new Player.Builder().withQuests(questRepository.getQuests())
+        .withCatalogue(questRepository.getCatalogue()).build();
+    quest = questRepository.getQuests().iterator().next();
+  }
+
+  @Benchmark
+  public Player copy() {
+    return player.copy();
+  }
+
+  @Benchmark
+  public Player copyAndModify() {
+    Player copy = player.copy();
+
+    copy.addSkillXP(Skill.ATTACK, 100);
+    copy.setQuestStatus(quest, QuestStatus.COMPLETED);
+
+    return copy;
+  }
+}
@@ -3,6 +3,7 @@ package com.darrenswhite.rs.ironquest.player;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
@@ -12,18 +13,26 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.darrenswhite.rs.ironquest.quest.QuestAccess;
 import com.darrenswhite.rs.ironquest.quest.QuestAccessFilter;
 import com.darrenswhite.rs.ironquest.quest.QuestRepository;
 import com.darrenswhite.rs.ironquest.quest.QuestType;
 import com.darrenswhite.rs.ironquest.quest.QuestTypeFilter;
+import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest;
+import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest.Status;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
-import org.junit.jupiter.api.BeforeAll;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.InputStreamResource;
@@ -33,19 +42,22 @@ class PlayerServiceTest {
   static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   static final String QUESTS_FILE = "quests-minimal.json";
 
-  static QuestRepository questRepository;
-  static HiscoreService hiscoreService;
-  static RuneMetricsService runeMetricsService;
-  static PlayerService playerService;
+  QuestRepository questRepository;
+  HiscoreService hiscoreService;
+  RuneMetricsService runeMetricsService;
+  MeterRegistry meterRegistry;
+  PlayerService playerService;
 
-  @BeforeAll
-  static void beforeAll() throws IOException {
+  @BeforeEach
+  void setUp() throws IOException {
     questRepository = new QuestRepository(new InputStreamResource(Objects
         .requireNonNull(PlayerServiceTest.class.getClassLoader().getResourceAsStream(QUESTS_FILE))),
         OBJECT_MAPPER);
     hiscoreService = mock(HiscoreService.class);
     runeMetricsService = mock(RuneMetricsService.class);
-    playerService = new PlayerService(questRepository, hiscoreService, runeMetricsService);
+    meterRegistry = new SimpleMeterRegistry();
+    playerService = new PlayerService(questRepository, hiscoreService, runeMetricsService,
+        Duration.ofSeconds(1), meterRegistry);
   }
 
   @Nested
@@ -137,12 +149,44 @@ class PlayerServiceTest {
 
     @Test
     void shouldLoadPlayerDataFromHiscoresAndRuneMetricsWhenGivenUsername() {
+      when(hiscoreService.loadAsync("username"))
+          .thenReturn(CompletableFuture.completedFuture(Map.of()));
+      when(runeMetricsService.loadAsync("username"))
+          .thenReturn(CompletableFuture.completedFuture(Set.of()));
+
       playerService
           .createPlayer("username", QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
               Collections.emptySet(), Collections.emptyMap());
 
-      verify(hiscoreService).load("username");
-      verify(runeMetricsService).load("username");
+      verify(hiscoreService).loadAsync("username");
+      verify(runeMetricsService).loadAsync("username");
+    }
+
+    @Test
+    void shouldCountUnmatchedRuneMetricsTitles() {
+      RuneMetricsQuest rmQuest = new RuneMetricsQuest.Builder().withTitle("Unknown Quest")
+          .withStatus(Status.COMPLETED).build();
+
+      when(hiscoreService.loadAsync("unmatched"))
+          .thenReturn(CompletableFuture.completedFuture(Map.of()));
+      when(runeMetricsService.loadAsync("unmatched"))
+          .thenReturn(CompletableFuture.completedFuture(Set.of(rmQuest)));
+
+      playerService
+          .createPlayer("unmatched", QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
+              Collections.emptySet(), Collections.emptyMap());
+
+      assertThat(meterRegistry.get("runemetrics.quests.unmatched").counter().count(), is(1D));
+      assertThat(meterRegistry.get("runemetrics.quests.unmatched").counter().getId().getTags(),
+          empty());
+    }
+
+    @Test
+    void shouldTimePlayerCreation() {
+      playerService.createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL);
+      playerService.createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL);
+
+      assertThat(meterRegistry.timer("player.create").count(), is(2L));
     }
 
     @Test
@@ -150,8 +194,8 @@ class PlayerServiceTest {
       playerService.createPlayer(null, QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
           Collections.emptySet(), Collections.emptyMap());
 
-      verify(hiscoreService, never()).load(any());
-      verify(runeMetricsService, never()).load(any());
+      verify(hiscoreService, never()).loadAsync(any());
+      verify(runeMetricsService, never()).loadAsync(any());
     }
 
     @Test
@@ -159,8 +203,8 @@ class PlayerServiceTest {
       playerService.createPlayer("", QuestAccessFilter.ALL, QuestTypeFilter.ALL, false, false,
           Collections.emptySet(), Collections.emptyMap());
 
-      verify(hiscoreService, never()).load(any());
-      verify(runeMetricsService, never()).load(any());
+      verify(hiscoreService, never()).loadAsync(any());
+      verify(runeMetricsService, never()).loadAsync(any());
     }
   }
 }
@@ -1,23 +1,38 @@
 package com.darrenswhite.rs.ironquest.player;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.darrenswhite.rs.ironquest.dto.PlayerDeltaDTO;
 import com.darrenswhite.rs.ironquest.quest.Quest;
 import com.darrenswhite.rs.ironquest.quest.Quest.Builder;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalogue;
+import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest;
 import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestPointsRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
 import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
 import com.darrenswhite.rs.ironquest.quest.reward.LampReward;
 import com.darrenswhite.rs.ironquest.quest.reward.LampType;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -66,6 +81,147 @@ public class PlayerTest {
       assertThat(original, not(sameInstance(copy)));
       assertThat(copy.getQuestStatus(quest), is(QuestStatus.COMPLETED));
     }
+
+    @Test
+    public void shouldNotShareChangesWithCopy() {
+      Quest quest = new Builder(0).build();
+      Player original = new Player.Builder().withQuests(Set.of(quest)).build();
+      Player copy = original.copy();
+
+      original.addSkillXP(Skill.PRAYER, 500);
+      original.setQuestStatus(quest, QuestStatus.COMPLETED);
+      copy.addSkillXP(Skill.MAGIC, 500);
+
+      assertThat(copy.getXp(Skill.PRAYER), is(0d));
+      assertThat(copy.getQuestStatus(quest), is(QuestStatus.NOT_STARTED));
+      assertThat(original.getXp(Skill.MAGIC), is(0d));
+      assertThat(original.getQuestStatus(quest), is(QuestStatus.COMPLETED));
+    }
+  }
+
+  @Nested
+  class AddSkillXP {
+
+    @Test
+    void shouldUpdateLevelsTotalLevelAndCombatLevel() {
+      Player player = new Player.Builder().build();
+      int totalLevel = player.getTotalLevel();
+      double combatLevel = player.getCombatLevel();
+
+      player.addSkillXP(Skill.ATTACK, 1154);
+      player.addSkillXP(Skill.COOKING, 83);
+
+      assertThat(player.getLevel(Skill.ATTACK), is(10));
+      assertThat(player.getLevels().get(Skill.COOKING), is(2));
+      assertThat(player.getTotalLevel(), is(totalLevel + 10));
+      assertThat(player.getCombatLevel(), is(combatLevel + 13d / 10d * 9 / 4));
+    }
+
+    @Test
+    void shouldNotUpdateLevelsOfCopy() {
+      Player player = new Player.Builder().build();
+      Player copy = player.copy();
+
+      player.addSkillXP(Skill.STRENGTH, 1154);
+
+      assertThat(copy.getLevel(Skill.STRENGTH), is(1));
+      assertThat(copy.getTotalLevel(), is(player.getTotalLevel() - 9));
+      assertThat(copy.getCombatLevel(), is(new Player.Builder().build().getCombatLevel()));
+    }
+  }
+
+  @Nested
+  class CreateDeltaDTO {
+
+    @Test
+    void shouldOnlyIncludeChanges() {
+      Quest quest = new Builder(0)
+          .withRewards(new QuestRewards.Builder().withQuestPoints(2).build()).build();
+      Player previous = new Player.Builder().withQuests(Set.of(quest)).build();
+      Player player = previous.copy();
+
+      player.setQuestStatus(quest, QuestStatus.COMPLETED);
+      player.addSkillXP(Skill.ATTACK, 1154);
+      player.addSkillXP(Skill.MAGIC, 10);
+
+      PlayerDeltaDTO delta = player.createDeltaDTO(previous);
+
+      assertThat(delta.getLevels(), is(Map.of(Skill.ATTACK, 9)));
+      assertThat(delta.getTotalLevel(), is(9));
+      assertThat(delta.getCombatLevel(), is(3));
+      assertThat(delta.getQuestPoints(), is(2));
+    }
+
+    @Test
+    void shouldBeEmptyWhenUnchanged() {
+      Player previous = new Player.Builder().build();
+      Player player = previous.copy();
+
+      PlayerDeltaDTO delta = player.createDeltaDTO(previous);
+
+      assertThat(delta.getLevels(), is(Map.of()));
+      assertThat(delta.getTotalLevel(), is(0));
+      assertThat(delta.getCombatLevel(), is(0));
+      assertThat(delta.getQuestPoints(), is(0));
+    }
+  }
+
+  @Nested
+  class Load {
+
+    final Quest quest = new Builder(0).withTitle("Quest").withDisplayName("Quest").build();
+    final RuneMetricsQuest rmQuest = new RuneMetricsQuest.Builder().withTitle("Quest")
+        .withStatus(RuneMetricsQuest.Status.COMPLETED).build();
+
+    @Test
+    void shouldLoadHiscoresAndQuests() {
+      HiscoreService hiscoreService = mock(HiscoreService.class);
+      RuneMetricsService runeMetricsService = mock(RuneMetricsService.class);
+      Player player = new Player.Builder().withName("user").withQuests(Set.of(quest)).build();
+
+      when(hiscoreService.loadAsync("user"))
+          .thenReturn(CompletableFuture.completedFuture(Map.of(Skill.ATTACK, 1154D)));
+      when(runeMetricsService.loadAsync("user"))
+          .thenReturn(CompletableFuture.completedFuture(Set.of(rmQuest)));
+
+      player.load(hiscoreService, runeMetricsService, Duration.ofSeconds(1));
+
+      assertThat(player.getSkillXps().get(Skill.ATTACK), is(1154D));
+      assertThat(player.isQuestCompleted(quest), is(true));
+    }
+
+    @Test
+    void shouldLoadQuestsWhenHiscoresTimeOut() {
+      HiscoreService hiscoreService = mock(HiscoreService.class);
+      RuneMetricsService runeMetricsService = mock(RuneMetricsService.class);
+      Player player = new Player.Builder().withName("user").withQuests(Set.of(quest)).build();
+
+      when(hiscoreService.loadAsync("user")).thenReturn(new CompletableFuture<>());
+      when(runeMetricsService.loadAsync("user"))
+          .thenReturn(CompletableFuture.completedFuture(Set.of(rmQuest)));
+
+      player.load(hiscoreService, runeMetricsService, Duration.ofMillis(50));
+
+      assertThat(player.getSkillXps().get(Skill.ATTACK), is(0D));
+      assertThat(player.isQuestCompleted(quest), is(true));
+    }
+
+    @Test
+    void shouldLoadHiscoresWhenQuestsFail() {
+      HiscoreService hiscoreService = mock(HiscoreService.class);
+      RuneMetricsService runeMetricsService = mock(RuneMetricsService.class);
+      Player player = new Player.Builder().withName("user").withQuests(Set.of(quest)).build();
+
+      when(hiscoreService.loadAsync("user"))
+          .thenReturn(CompletableFuture.completedFuture(Map.of(Skill.ATTACK, 1154D)));
+      when(runeMetricsService.loadAsync("user"))
+          .thenReturn(CompletableFuture.failedFuture(new IOException("failed")));
+
+      player.load(hiscoreService, runeMetricsService, Duration.ofSeconds(1));
+
+      assertThat(player.getSkillXps().get(Skill.ATTACK), is(1154D));
+      assertThat(player.isQuestCompleted(quest), is(false));
+    }
   }
 
   @Nested
@@ -135,14 +291,189 @@ public class PlayerTest {
     }
   }
 
+  @Nested
+  class GetRemainingSkillRequirements {
+
+    final SkillRequirement attack10 = new SkillRequirement.Builder(Skill.ATTACK, 10).build();
+    final SkillRequirement attack30 = new SkillRequirement.Builder(Skill.ATTACK, 30).build();
+    final SkillRequirement magic20 = new SkillRequirement.Builder(Skill.MAGIC, 20).build();
+    final SkillRequirement mining40 = new SkillRequirement.Builder(Skill.MINING, 40)
+        .withIronman(true).build();
+    final Quest questA = new Quest.Builder(0).withRequirements(
+        new QuestRequirements.Builder().withSkills(Set.of(attack30, mining40)).build()).build();
+    final Quest questB = new Quest.Builder(1).withRequirements(
+        new QuestRequirements.Builder().withSkills(Set.of(magic20))
+            .withQuests(Set.of(new QuestRequirement.Builder(questA).build())).build()).build();
+    final Quest questC = new Quest.Builder(2).withRequirements(
+        new QuestRequirements.Builder().withSkills(Set.of(attack10))
+            .withQuests(Set.of(new QuestRequirement.Builder(questB).build())).build()).build();
+
+    @Test
+    void shouldReturnHighestRequirementsOfAllQuestRequirements() {
+      Player player = new Player.Builder().withQuests(Set.of(questA, questB, questC)).build();
+
+      assertThat(player.getRemainingSkillRequirements(questC, true),
+          containsInAnyOrder(attack30, magic20));
+      assertThat(player.getRemainingSkillRequirements(questC, false), contains(attack10));
+    }
+
+    @Test
+    void shouldIncludeIronmanRequirementsForIronman() {
+      Player player = new Player.Builder().withIronman(true)
+          .withQuests(Set.of(questA, questB, questC)).build();
+
+      assertThat(player.getRemainingSkillRequirements(questC, true),
+          containsInAnyOrder(attack30, magic20, mining40));
+    }
+
+    @Test
+    void shouldExcludeCompletedQuestRequirements() {
+      Player player = new Player.Builder().withQuests(Set.of(questA, questB, questC)).build();
+
+      player.setQuestStatus(questA, QuestStatus.COMPLETED);
+
+      assertThat(player.getRemainingSkillRequirements(questC, true),
+          containsInAnyOrder(attack10, magic20));
+    }
+
+    @Test
+    void shouldExcludeRequirementsWhichAreMet() {
+      Player player = new Player.Builder().withQuests(Set.of(questA, questB, questC))
+          .withSkillXps(Map.of(Skill.ATTACK, Skill.ATTACK.getXpAtLevel(30))).build();
+
+      assertThat(player.getRemainingSkillRequirements(questC, true), contains(magic20));
+    }
+  }
+
+  @Nested
+  class GetQuestRewards {
+
+    final Quest questWithLamp = new Quest.Builder(0).withRewards(new QuestRewards.Builder()
+        .withXp(Map.of(Skill.AGILITY, 100d)).withLamps(Set.of(
+            new LampReward.Builder(0).withType(LampType.XP).withXp(500).build())).build())
+        .build();
+    final Quest questWithRequirement = new Quest.Builder(1).withRequirements(
+        new QuestRequirements.Builder()
+            .withSkills(Set.of(new SkillRequirement.Builder(Skill.MINING, 30).build())).build())
+        .build();
+
+    @Test
+    void shouldReuseRewardsUntilStateChanges() {
+      Player player = new Player.Builder().withQuests(Set.of(questWithLamp, questWithRequirement))
+          .build();
+
+      Map<Skill, Double> rewards = player.getQuestRewards(questWithLamp);
+
+      assertThat(rewards.get(Skill.AGILITY), is(100d));
+      assertThat(rewards.get(Skill.MINING), is(500d));
+      assertThat(player.getQuestRewards(questWithLamp), sameInstance(rewards));
+      assertThat(player.copy().getQuestRewards(questWithLamp), sameInstance(rewards));
+
+      player.addSkillXP(Skill.MINING, Skill.MINING.getXpAtLevel(30));
+
+      assertThat(player.getQuestRewards(questWithLamp), not(sameInstance(rewards)));
+    }
+
+    @Test
+    void shouldRecomputeLampChoiceWhenQuestCompleted() {
+      Quest questWithHigherRequirement = new Quest.Builder(2).withRequirements(
+          new QuestRequirements.Builder()
+              .withSkills(Set.of(new SkillRequirement.Builder(Skill.HERBLORE, 50).build()))
+              .build()).build();
+      Player player = new Player.Builder()
+          .withQuests(Set.of(questWithLamp, questWithRequirement, questWithHigherRequirement))
+          .build();
+
+      assertThat(player.getQuestRewards(questWithLamp).get(Skill.HERBLORE), is(500d));
+
+      player.setQuestStatus(questWithHigherRequirement, QuestStatus.COMPLETED);
+
+      assertThat(player.getQuestRewards(questWithLamp).get(Skill.HERBLORE), nullValue());
+      assertThat(player.getQuestRewards(questWithLamp).get(Skill.MINING), is(500d));
+    }
+  }
+
+  @Nested
+  class GetPrioritisedGoals {
+
+    final Quest questA = new Quest.Builder(0).build();
+    final Quest questB = new Quest.Builder(1).withRequirements(
+        new QuestRequirements.Builder()
+            .withQuests(Set.of(new QuestRequirement.Builder(questA).build())).build()).build();
+    final Quest questC = new Quest.Builder(2).build();
+
+    @Test
+    void shouldIncludeQuestRequirementsOfPrioritisedQuests() {
+      Player player = new Player.Builder().withQuests(Set.of(questA, questB, questC)).build();
+
+      assertThat(player.getPrioritisedGoals(), empty());
+
+      player.setQuestPriority(questB, QuestPriority.HIGH);
+
+      assertThat(player.getPrioritisedGoals(), contains(questB, questA));
+    }
+
+    @Test
+    void shouldReuseGoalsUntilPrioritisedQuestsChange() {
+      Player player = new Player.Builder().withQuests(Set.of(questA, questB, questC)).build();
+
+      player.setQuestPriority(questB, QuestPriority.HIGH);
+
+      Set<Quest> goals = player.getPrioritisedGoals();
+
+      player.setQuestStatus(questC, QuestStatus.COMPLETED);
+      player.setQuestPriority(questC, QuestPriority.LOW);
+      player.addSkillXP(Skill.MINING, 1000);
+
+      assertThat(player.getPrioritisedGoals(), sameInstance(goals));
+      assertThat(player.copy().getPrioritisedGoals(), sameInstance(goals));
+
+      player.setQuestStatus(questB, QuestStatus.COMPLETED);
+
+      assertThat(player.getPrioritisedGoals(), empty());
+    }
+  }
+
+  @Nested
+  class SetQuestPriority {
+
+    @Test
+    void shouldSetPriorityForQuestId() {
+      Quest quest = new Quest.Builder(1).build();
+      Player player = new Player.Builder().withQuests(Set.of(quest)).build();
+
+      player.setQuestPriority(1, QuestPriority.HIGH);
+
+      assertThat(player.getQuestPriority(quest), is(QuestPriority.HIGH));
+    }
+
+    @Test
+    void shouldThrowExceptionWithIdForUnknownQuestId() {
+      Player player = new Player.Builder().withQuests(Set.of(new Quest.Builder(1).build()))
+          .build();
+
+      IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+          () -> player.setQuestPriority(2, QuestPriority.HIGH));
+
+      assertThat(e.getMessage(), is("Unknown quest id: 2"));
+    }
+  }
+
   @Nested
   class Equals {
 
     @Test
     void shouldVerifyEqualsAndHashCode() {
+      Quest quest = new Quest.Builder(0).build();
+
       EqualsVerifier.forClass(Player.class)
           .withPrefabValues(Quest.class, new Quest.Builder(0).build(), new Quest.Builder(1).build())
-          .verify();
+          .withPrefabValues(QuestProgress.class,
+              new QuestProgress(new QuestCatalogue(Set.of()), Set.of()),
+              new QuestProgress(new QuestCatalogue(Set.of(quest)), Set.of(quest)))
+          .withIgnoredFields("levels", "sharedSkillXps", "totalLevel", "combatLevel", "version",
+              "memo", "goals")
+          .suppress(Warning.NONFINAL_FIELDS).verify();
     }
   }
 }
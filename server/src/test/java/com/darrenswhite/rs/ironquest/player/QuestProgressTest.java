@@ -0,0 +1,207 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.darrenswhite.rs.ironquest.quest.Quest;
+import com.darrenswhite.rs.ironquest.quest.QuestCatalogue;
+import com.darrenswhite.rs.ironquest.quest.reward.QuestRewards;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestProgressTest {
+
+  private static final Quest QUEST_A = new Quest.Builder(0)
+      .withRewards(new QuestRewards.Builder().withQuestPoints(2).build()).build();
+  private static final Quest QUEST_B = new Quest.Builder(1)
+      .withRewards(new QuestRewards.Builder().withQuestPoints(3).build()).build();
+
+  private QuestProgress createProgress(Quest... quests) {
+    return new QuestProgress(new QuestCatalogue(Set.of(QUEST_A, QUEST_B)), Set.of(quests));
+  }
+
+  @Nested
+  class Constructor {
+
+    @Test
+    void shouldCreateDefaultEntries() {
+      QuestProgress progress = createProgress(QUEST_A, QUEST_B);
+
+      assertThat(progress.getStatus(QUEST_A), is(QuestStatus.NOT_STARTED));
+      assertThat(progress.getPriority(QUEST_A), is(QuestPriority.NORMAL));
+      assertThat(progress.getQuestPoints(), is(0));
+      assertThat(progress.getQuests(), containsInAnyOrder(QUEST_A, QUEST_B));
+    }
+
+    @Test
+    void shouldThrowExceptionForQuestNotInCatalogue() {
+      QuestCatalogue catalogue = new QuestCatalogue(Set.of(QUEST_A));
+
+      assertThrows(IllegalArgumentException.class,
+          () -> new QuestProgress(catalogue, Set.of(QUEST_B)));
+    }
+  }
+
+  @Nested
+  class GetQuest {
+
+    @Test
+    void shouldReturnNullForMissingQuest() {
+      QuestProgress progress = createProgress(QUEST_A);
+
+      assertThat(progress.getQuest(QUEST_A.getId()), is(QUEST_A));
+      assertThat(progress.getQuest(QUEST_B.getId()), nullValue());
+      assertThat(progress.getQuest(2), nullValue());
+    }
+  }
+
+  @Nested
+  class SetStatus {
+
+    @Test
+    void shouldUpdateQuestPoints() {
+      QuestProgress progress = createProgress(QUEST_A, QUEST_B);
+
+      progress.setStatus(QUEST_A, QuestStatus.COMPLETED);
+      progress.setStatus(QUEST_B, QuestStatus.COMPLETED);
+      progress.setStatus(QUEST_B, QuestStatus.COMPLETED);
+
+      assertThat(progress.getQuestPoints(), is(5));
+
+      progress.setStatus(QUEST_A, QuestStatus.IN_PROGRESS);
+
+      assertThat(progress.getQuestPoints(), is(3));
+      assertThat(progress.getStatus(QUEST_A), is(QuestStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void shouldUpdateViews() {
+      QuestProgress progress = createProgress(QUEST_A, QUEST_B);
+      Set<Quest> completed = progress.getCompletedQuests();
+      Set<Quest> incomplete = progress.getIncompleteQuests();
+
+      progress.setStatus(QUEST_A, QuestStatus.COMPLETED);
+
+      assertThat(completed, contains(QUEST_A));
+      assertThat(incomplete, contains(QUEST_B));
+    }
+
+    @Test
+    void shouldThrowExceptionForMissingEntry() {
+      QuestProgress progress = createProgress(QUEST_A);
+
+      assertThrows(IllegalArgumentException.class,
+          () -> progress.setStatus(QUEST_B, QuestStatus.COMPLETED));
+    }
+  }
+
+  @Nested
+  class SetPriority {
+
+    @Test
+    void shouldOnlyIncludeIncompletePrioritisedQuests() {
+      QuestProgress progress = createProgress(QUEST_A, QUEST_B);
+      Set<Quest> prioritised = progress.getPrioritisedQuests();
+
+      progress.setPriority(QUEST_A, QuestPriority.HIGH);
+      progress.setPriority(QUEST_B, QuestPriority.LOW);
+
+      assertThat(prioritised, contains(QUEST_A));
+
+      progress.setStatus(QUEST_A, QuestStatus.COMPLETED);
+
+      assertThat(prioritised, empty());
+      assertThat(progress.getPriority(QUEST_A), is(QuestPriority.HIGH));
+    }
+
+    @Test
+    void shouldOnlyChangeVersionWhenPrioritisedQuestsChange() {
+      QuestProgress progress = createProgress(QUEST_A, QUEST_B);
+      int version = progress.getPrioritisedVersion();
+
+      progress.setPriority(QUEST_B, QuestPriority.LOW);
+      progress.setStatus(QUEST_B, QuestStatus.COMPLETED);
+
+      assertThat(progress.getPrioritisedVersion(), is(version));
+
+      progress.setPriority(QUEST_A, QuestPriority.HIGH);
+
+      assertThat(progress.getPrioritisedVersion(), is(version + 1));
+
+      progress.setPriority(QUEST_A, QuestPriority.MAXIMUM);
+
+      assertThat(progress.getPrioritisedVersion(), is(version + 1));
+
+      progress.setStatus(QUEST_A, QuestStatus.COMPLETED);
+
+      assertThat(progress.getPrioritisedVersion(), is(version + 2));
+      assertThat(progress.copy().getPrioritisedVersion(), is(version + 2));
+    }
+  }
+
+  @Nested
+  class Copy {
+
+    @Test
+    void shouldNotModifyOriginal() {
+      QuestProgress original = createProgress(QUEST_A, QUEST_B);
+
+      original.setStatus(QUEST_A, QuestStatus.COMPLETED);
+
+      QuestProgress copy = original.copy();
+
+      copy.setStatus(QUEST_B, QuestStatus.COMPLETED);
+      copy.setPriority(QUEST_A, QuestPriority.MAXIMUM);
+      copy.addPreviousLampSkills(QUEST_A, Set.of(Skill.AGILITY));
+
+      assertThat(original.getCompletedQuests(), contains(QUEST_A));
+      assertThat(original.getQuestPoints(), is(2));
+      assertThat(original.getPriority(QUEST_A), is(QuestPriority.NORMAL));
+      assertThat(original.getPreviousLampSkills(QUEST_A), empty());
+      assertThat(copy.getCompletedQuests(), containsInAnyOrder(QUEST_A, QUEST_B));
+      assertThat(copy.getQuestPoints(), is(5));
+    }
+
+    @Test
+    void shouldNotModifyCopy() {
+      QuestProgress original = createProgress(QUEST_A, QUEST_B);
+
+      original.addPreviousLampSkills(QUEST_A, Set.of(Skill.AGILITY));
+
+      QuestProgress copy = original.copy();
+
+      original.setStatus(QUEST_A, QuestStatus.COMPLETED);
+      original.addPreviousLampSkills(QUEST_A, Set.of(Skill.THIEVING));
+
+      assertThat(copy.getCompletedQuests(), empty());
+      assertThat(copy.getPreviousLampSkills(QUEST_A), contains(Set.of(Skill.AGILITY)));
+      assertThat(original.getPreviousLampSkills(QUEST_A),
+          containsInAnyOrder(Set.of(Skill.AGILITY), Set.of(Skill.THIEVING)));
+    }
+
+    @Test
+    void shouldShareStateUntilModified() {
+      QuestProgress original = createProgress(QUEST_A, QUEST_B);
+      QuestProgress copy = original.copy();
+
+      copy.setPriority(QUEST_B, QuestPriority.HIGH);
+
+      QuestProgress copyOfCopy = copy.copy();
+
+      copyOfCopy.setStatus(QUEST_B, QuestStatus.IN_PROGRESS);
+
+      assertThat(original.getPriority(QUEST_B), is(QuestPriority.NORMAL));
+      assertThat(original.getPrioritisedQuests(), empty());
+      assertThat(copy.getPriority(QUEST_B), is(QuestPriority.HIGH));
+      assertThat(copy.getStatus(QUEST_B), is(QuestStatus.NOT_STARTED));
+      assertThat(copyOfCopy.getPrioritisedQuests(), contains(QUEST_B));
+      assertThat(copyOfCopy.getStatus(QUEST_B), is(QuestStatus.IN_PROGRESS));
+    }
+  }
+}
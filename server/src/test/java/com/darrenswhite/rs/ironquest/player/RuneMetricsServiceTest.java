@@ -2,15 +2,30 @@ package com.darrenswhite.rs.ironquest.player;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest;
 import com.darrenswhite.rs.ironquest.quest.RuneMetricsQuest.Status;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -18,16 +33,57 @@ class RuneMetricsServiceTest {
 
   static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   static final String RUNEMETRICS_FILE = "runemetrics.json";
+  static final SimpleMeterRegistry METER_REGISTRY = new SimpleMeterRegistry();
+  static final CountDownLatch SLOW_LATCH = new CountDownLatch(1);
 
+  static HttpServer server;
   static RuneMetricsService runeMetricsService;
 
   @BeforeAll
-  static void beforeAll() {
-    String url = Objects
-        .requireNonNull(RuneMetricsServiceTest.class.getClassLoader().getResource(RUNEMETRICS_FILE))
-        .toString();
+  static void beforeAll() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/quests", exchange -> {
+      if (exchange.getRequestURI().getQuery().equals("user=missing")) {
+        exchange.sendResponseHeaders(404, -1);
+      } else {
+        if (exchange.getRequestURI().getQuery().equals("user=slow")) {
+          try {
+            SLOW_LATCH.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
 
-    runeMetricsService = new RuneMetricsService(url, OBJECT_MAPPER);
+        try (InputStream in = Objects.requireNonNull(
+            RuneMetricsServiceTest.class.getClassLoader().getResourceAsStream(RUNEMETRICS_FILE))) {
+          byte[] body = in.readAllBytes();
+
+          exchange.sendResponseHeaders(200, body.length);
+
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        }
+      }
+
+      exchange.close();
+    });
+    server.start();
+
+    String url = "http://localhost:" + server.getAddress().getPort() + "/quests?user=%s";
+
+    runeMetricsService = new RuneMetricsService(url, OBJECT_MAPPER, Duration.ofSeconds(5),
+        Duration.ofSeconds(5), METER_REGISTRY);
+  }
+
+  @AfterAll
+  static void afterAll() {
+    server.stop(0);
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    METER_REGISTRY.clear();
   }
 
   @Nested
@@ -52,6 +108,39 @@ class RuneMetricsServiceTest {
       assertThat(loadedQuests, notNullValue());
       assertThat(loadedQuests, hasSize(3));
       assertThat(loadedQuests, containsInAnyOrder(quest1, quest2, quest3));
+      assertThat(METER_REGISTRY.get("runemetrics.fetch").tag("outcome", "success").timer().count(),
+          is(1L));
+    }
+
+    @Test
+    void shouldReturnEmptySetForUnexpectedStatus() {
+      assertThat(runeMetricsService.load("missing"), empty());
+      assertThat(METER_REGISTRY.get("runemetrics.fetch").tag("outcome", "failure").timer().count(),
+          is(1L));
+    }
+  }
+
+  @Nested
+  class LoadAsync {
+
+    @Test
+    void shouldShareConcurrentRequestsForSameName() {
+      CompletableFuture<Set<RuneMetricsQuest>> first = runeMetricsService.loadAsync("slow");
+      CompletableFuture<Set<RuneMetricsQuest>> second = runeMetricsService.loadAsync(" SLOW");
+
+      first.cancel(true);
+      SLOW_LATCH.countDown();
+
+      assertThat(second.join(), hasSize(3));
+      assertThat(METER_REGISTRY.get("runemetrics.fetch").tag("outcome", "success").timer().count(),
+          is(1L));
+    }
+
+    @Test
+    void shouldReturnUnmodifiableSet() {
+      Set<RuneMetricsQuest> quests = runeMetricsService.loadAsync("user").join();
+
+      assertThrows(UnsupportedOperationException.class, quests::clear);
     }
   }
 }
@@ -0,0 +1,92 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing {@link Skill#getLevelAt(double)} to a linear scan of the xp table.
+ *
+ * @author Darren S. White
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkillBenchmark {
+
+  private static final int SAMPLES = 1024;
+
+  private final Skill[] skills = new Skill[SAMPLES];
+  private final double[] xps = new double[SAMPLES];
+
+  /**
+   * Sample xp uniformly across the levels of random skills, as xp is exponential in level.
+   */
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    Skill[] values = Skill.values();
+
+    for (int i = 0; i < SAMPLES; i++) {
+      Skill skill = values[random.nextInt(values.length)];
+      double[] table = skill.getXpTable();
+      int level = 1 + random.nextInt(Math.min(skill.getMaxLevel(), table.length - 1) - 1);
+
+      skills[i] = skill;
+      xps[i] = table[level] + random.nextDouble() * (table[level + 1] - table[level]);
+    }
+  }
+
+  @Benchmark
+  public int binarySearch() {
+    int levels = 0;
+
+    for (int i = 0; i < SAMPLES; i++) {
+      levels += skills[i].getLevelAt(xps[i]);
+    }
+
+    return levels;
+  }
+
+  @Benchmark
+  public int linearScan() {
+    int levels = 0;
+
+    for (int i = 0; i < SAMPLES; i++) {
+      levels += getLevelAtLinear(skills[i], xps[i]);
+    }
+
+    return levels;
+  }
+
+  /**
+   * The previous implementation of {@link Skill#getLevelAt(double)}, which scans the xp table
+   * down from the maximum level.
+   */
+  private static int getLevelAtLinear(Skill skill, double xp) {
+    double[] table = skill.getXpTable();
+    int max = Math.min(skill.getMaxLevel(), table.length - 1);
+    int level = 1;
+
+    for (int i = max; i > 0; i--) {
+      if (xp >= table[i]) {
+        level = i;
+        break;
+      }
+    }
+
+    return level;
+  }
+}
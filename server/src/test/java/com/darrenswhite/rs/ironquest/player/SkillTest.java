@@ -0,0 +1,46 @@
+package com.darrenswhite.rs.ironquest.player;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SkillTest {
+
+  @Nested
+  class GetLevelAt {
+
+    @ParameterizedTest
+    @EnumSource(Skill.class)
+    void shouldReturnLevelAtEachXpBoundary(Skill skill) {
+      double[] table = skill.getXpTable();
+      int max = Math.min(skill.getMaxLevel(), table.length - 1);
+
+      for (int level = 2; level <= max; level++) {
+        assertThat(skill.getLevelAt(table[level] - 1), is(level - 1));
+        assertThat(skill.getLevelAt(table[level]), is(level));
+      }
+    }
+
+    @Test
+    void shouldReturnMinimumLevelForZeroXp() {
+      assertThat(Skill.ATTACK.getLevelAt(0), is(1));
+    }
+
+    @Test
+    void shouldNotExceedMaximumLevel() {
+      assertThat(Skill.ATTACK.getLevelAt(Skill.MAX_XP), is(99));
+      assertThat(Skill.INVENTION.getLevelAt(Skill.MAX_XP), is(120));
+      assertThat(Skill.SLAYER.getLevelAt(Skill.MAX_XP), is(120));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidXp() {
+      assertThrows(IllegalArgumentException.class, () -> Skill.ATTACK.getLevelAt(-1));
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.darrenswhite.rs.ironquest.player.Skill;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirement;
+import com.darrenswhite.rs.ironquest.quest.requirement.QuestRequirements;
+import com.darrenswhite.rs.ironquest.quest.requirement.SkillRequirement;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestCatalogueTest {
+
+  static final Quest QUEST_A = new Quest.Builder(0).build();
+  static final Quest QUEST_B = new Quest.Builder(1).withRequirements(
+      new QuestRequirements.Builder()
+          .withQuests(Set.of(new QuestRequirement.Builder(QUEST_A).build())).build()).build();
+  static final Quest QUEST_C = new Quest.Builder(2).withRequirements(
+      new QuestRequirements.Builder()
+          .withQuests(Set.of(new QuestRequirement.Builder(QUEST_B).build())).build()).build();
+
+  @Nested
+  class Constructor {
+
+    @Test
+    void shouldThrowExceptionForCyclicQuestRequirements() {
+      Quest quest = new Quest.Builder(3).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Set.of(new QuestRequirement.Builder(new Quest.Builder(3).build()).build()))
+          .build()).build();
+
+      assertThrows(CyclicQuestRequirementException.class, () -> new QuestCatalogue(Set.of(quest)));
+    }
+  }
+
+  @Nested
+  class GetQuests {
+
+    @Test
+    void shouldOrderQuestsTopologically() {
+      QuestCatalogue catalogue = new QuestCatalogue(List.of(QUEST_C, QUEST_B, QUEST_A));
+
+      assertThat(catalogue.getQuests(), contains(QUEST_A, QUEST_B, QUEST_C));
+      assertThat(catalogue.getOrdinal(QUEST_A), lessThan(catalogue.getOrdinal(QUEST_B)));
+      assertThat(catalogue.getOrdinal(QUEST_B), lessThan(catalogue.getOrdinal(QUEST_C)));
+    }
+
+    @Test
+    void shouldIncludeRequiredQuests() {
+      QuestCatalogue catalogue = new QuestCatalogue(List.of(QUEST_C));
+
+      assertThat(catalogue.size(), is(3));
+      assertThat(catalogue.contains(QUEST_A), is(true));
+    }
+  }
+
+  @Nested
+  class GetQuestRequirements {
+
+    @Test
+    void shouldReturnQuestRequirementsRecursively() {
+      QuestCatalogue catalogue = new QuestCatalogue(List.of(QUEST_A, QUEST_B, QUEST_C));
+      BitSet expected = new BitSet();
+
+      expected.set(catalogue.getOrdinal(QUEST_A));
+      expected.set(catalogue.getOrdinal(QUEST_B));
+
+      assertThat(catalogue.getQuestRequirements(QUEST_C), is(expected));
+      assertThat(catalogue.getQuestRequirements(QUEST_A).isEmpty(), is(true));
+      assertThat(catalogue.getQuestRequirements(Set.of(QUEST_B, QUEST_C)), is(expected));
+    }
+  }
+
+  @Nested
+  class GetQuestRequirementClosure {
+
+    @Test
+    void shouldOnlyIncludeApplicableRequirements() {
+      SkillRequirement attack = new SkillRequirement.Builder(Skill.ATTACK, 50).build();
+      SkillRequirement ironmanAttack = new SkillRequirement.Builder(Skill.ATTACK, 60)
+          .withIronman(true).build();
+      SkillRequirement recommendedMagic = new SkillRequirement.Builder(Skill.MAGIC, 70)
+          .withRecommended(true).build();
+      Quest questD = new Quest.Builder(3).withRequirements(new QuestRequirements.Builder()
+          .withSkills(Set.of(attack, ironmanAttack, recommendedMagic)).build()).build();
+      Quest questE = new Quest.Builder(4).withRequirements(new QuestRequirements.Builder()
+          .withQuests(Set.of(new QuestRequirement.Builder(questD).withIronman(true).build()))
+          .build()).build();
+      QuestCatalogue catalogue = new QuestCatalogue(List.of(questE));
+
+      QuestRequirementClosure closure = catalogue.getQuestRequirementClosure(questE, false, false);
+      QuestRequirementClosure ironmanClosure = catalogue
+          .getQuestRequirementClosure(questE, true, true);
+      BitSet ordinals = new BitSet();
+
+      ordinals.set(catalogue.getOrdinal(questD));
+
+      assertThat(closure.getSkillRequirements(), empty());
+      assertThat(closure.intersects(ordinals), is(false));
+      assertThat(closure.nextQuestRequirement(0), is(-1));
+      assertThat(ironmanClosure.getSkillRequirements(),
+          containsInAnyOrder(ironmanAttack, recommendedMagic));
+      assertThat(ironmanClosure.intersects(ordinals), is(true));
+      assertThat(ironmanClosure.nextQuestRequirement(0), is(catalogue.getOrdinal(questD)));
+      assertThat(catalogue.getQuestRequirementClosure(questD, false, false).getSkillRequirements(),
+          contains(attack));
+    }
+
+    @Test
+    void shouldReuseClosuresForSameOptions() {
+      QuestCatalogue catalogue = new QuestCatalogue(List.of(QUEST_C));
+
+      assertThat(catalogue.getQuestRequirementClosure(QUEST_C, true, false),
+          sameInstance(catalogue.getQuestRequirementClosure(QUEST_C, true, false)));
+    }
+  }
+
+  @Nested
+  class GetOrdinal {
+
+    @Test
+    void shouldThrowExceptionForUnknownQuest() {
+      QuestCatalogue catalogue = new QuestCatalogue(List.of(QUEST_A));
+
+      assertThrows(IllegalArgumentException.class,
+          () -> catalogue.getOrdinal(new Quest.Builder(3).build()));
+    }
+  }
+
+  @Nested
+  class GetOrdinalById {
+
+    @Test
+    void shouldReturnOrdinalForQuestId() {
+      QuestCatalogue catalogue = new QuestCatalogue(List.of(QUEST_B));
+
+      assertThat(catalogue.getOrdinalById(QUEST_B.getId()), is(catalogue.getOrdinal(QUEST_B)));
+      assertThat(catalogue.getOrdinalById(QUEST_A.getId()), is(catalogue.getOrdinal(QUEST_A)));
+      assertThat(catalogue.getOrdinalById(QUEST_C.getId()), is(-1));
+    }
+  }
+}
@@ -5,6 +5,8 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.darrenswhite.rs.ironquest.player.Skill;
 import com.darrenswhite.rs.ironquest.quest.requirement.CombatRequirement;
@@ -235,4 +237,42 @@ class QuestRepositoryTest {
           Arguments.of(questRepository, QUESTS_JSON));
     }
   }
+
+  @Nested
+  class Load {
+
+    @Test
+    void shouldCreateCatalogueForAllQuests() {
+      assertThat(questRepository.getCatalogue().size(), is(questRepository.getQuests().size()));
+    }
+  }
+
+  @Nested
+  class GetFilteredQuests {
+
+    @Test
+    void shouldIncludeQuestRequirementsOfFilteredQuests() {
+      Set<Quest> quests = minimalQuestRepository
+          .getQuests(QuestAccessFilter.MEMBERS, QuestTypeFilter.ALL);
+
+      assertThat(quests.stream().map(Quest::getId).collect(Collectors.toList()),
+          containsInAnyOrder(0, 1, 2));
+    }
+
+    @Test
+    void shouldIncludeAllQuestsForAllFilters() {
+      assertThat(questRepository.getQuests(QuestAccessFilter.ALL, QuestTypeFilter.ALL),
+          is(questRepository.getQuests()));
+    }
+
+    @Test
+    void shouldShareUnmodifiableQuests() {
+      Set<Quest> quests = minimalQuestRepository
+          .getQuests(QuestAccessFilter.FREE, QuestTypeFilter.SAGAS);
+
+      assertThat(minimalQuestRepository.getQuests(QuestAccessFilter.FREE, QuestTypeFilter.SAGAS),
+          sameInstance(quests));
+      assertThrows(UnsupportedOperationException.class, quests::clear);
+    }
+  }
 }
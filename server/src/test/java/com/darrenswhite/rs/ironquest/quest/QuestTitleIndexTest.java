@@ -0,0 +1,70 @@
+package com.darrenswhite.rs.ironquest.quest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class QuestTitleIndexTest {
+
+  static final Quest COOKS_ASSISTANT = new Quest.Builder(0).withTitle("Cook's Assistant")
+      .withDisplayName("Cook's Assistant").build();
+  static final Quest RFD = new Quest.Builder(1).withTitle("Recipe for Disaster")
+      .withDisplayName("RFD: Freeing the Mountain Dwarf").build();
+
+  @Nested
+  class Normalise {
+
+    @Test
+    void shouldRemovePunctuationCaseAndAccents() {
+      assertThat(QuestTitleIndex.normalise("Cook's Assistant"), is("cooksassistant"));
+      assertThat(QuestTitleIndex.normalise("COOK’S  assistant!"), is("cooksassistant"));
+      assertThat(QuestTitleIndex.normalise("Ritual of the Mahjarraté"),
+          is("ritualofthemahjarrate"));
+    }
+  }
+
+  @Nested
+  class Find {
+
+    @Test
+    void shouldFindByNormalisedTitleAndDisplayName() {
+      QuestTitleIndex index = new QuestTitleIndex(Set.of(COOKS_ASSISTANT, RFD), Map.of());
+
+      assertThat(index.find("cooks assistant"), is(Optional.of(COOKS_ASSISTANT)));
+      assertThat(index.find("Recipe for Disaster"), is(Optional.of(RFD)));
+      assertThat(index.find("RFD - Freeing the Mountain Dwarf"), is(Optional.of(RFD)));
+    }
+
+    @Test
+    void shouldFindByAlias() {
+      QuestTitleIndex index = new QuestTitleIndex(Set.of(COOKS_ASSISTANT),
+          Map.of("The Cook's Assistant", 0));
+
+      assertThat(index.find("The Cook's Assistant"), is(Optional.of(COOKS_ASSISTANT)));
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownTitle() {
+      QuestTitleIndex index = new QuestTitleIndex(Set.of(COOKS_ASSISTANT), Map.of());
+
+      assertThat(index.find("Unknown"), is(Optional.empty()));
+      assertThat(index.find(null), is(Optional.empty()));
+    }
+  }
+
+  @Nested
+  class Constructor {
+
+    @Test
+    void shouldThrowExceptionForAliasOfUnknownQuest() {
+      assertThrows(IllegalArgumentException.class,
+          () -> new QuestTitleIndex(Set.of(COOKS_ASSISTANT), Map.of("Alias", 1)));
+    }
+  }
+}
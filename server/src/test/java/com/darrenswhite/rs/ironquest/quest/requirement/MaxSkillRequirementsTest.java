@@ -0,0 +1,113 @@
+package com.darrenswhite.rs.ironquest.quest.requirement;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.darrenswhite.rs.ironquest.player.Skill;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class MaxSkillRequirementsTest {
+
+  @Nested
+  class Add {
+
+    @Test
+    void shouldKeepHighestRequirementForEachSkill() {
+      MaxSkillRequirements requirements = new MaxSkillRequirements();
+      SkillRequirement attack10 = new SkillRequirement.Builder(Skill.ATTACK, 10).build();
+      SkillRequirement attack20 = new SkillRequirement.Builder(Skill.ATTACK, 20).build();
+      SkillRequirement attack5 = new SkillRequirement.Builder(Skill.ATTACK, 5).build();
+
+      assertThat(requirements.add(attack10), is(true));
+      assertThat(requirements.add(attack20), is(true));
+      assertThat(requirements.add(attack5), is(false));
+      assertThat(requirements.get(Skill.ATTACK), is(attack20));
+      assertThat(requirements.size(), is(1));
+    }
+
+    @Test
+    void shouldKeepFirstRequirementForEqualLevels() {
+      MaxSkillRequirements requirements = new MaxSkillRequirements();
+      SkillRequirement first = new SkillRequirement.Builder(Skill.MAGIC, 10).build();
+      SkillRequirement second = new SkillRequirement.Builder(Skill.MAGIC, 10).withIronman(true)
+          .build();
+
+      requirements.add(first);
+
+      assertThat(requirements.add(second), is(false));
+      assertThat(requirements.get(Skill.MAGIC), is(first));
+    }
+  }
+
+  @Nested
+  class AsSet {
+
+    @Test
+    void shouldIterateInOrderSkillsWereFirstAdded() {
+      MaxSkillRequirements requirements = new MaxSkillRequirements();
+      SkillRequirement herblore = new SkillRequirement.Builder(Skill.HERBLORE, 20).build();
+      SkillRequirement attack = new SkillRequirement.Builder(Skill.ATTACK, 30).build();
+      SkillRequirement herbloreHigher = new SkillRequirement.Builder(Skill.HERBLORE, 40).build();
+
+      requirements.addAll(List.of(herblore, attack, herbloreHigher));
+
+      assertThat(requirements.asSet(), contains(herbloreHigher, attack));
+    }
+
+    @Test
+    void shouldReflectLaterChanges() {
+      MaxSkillRequirements requirements = new MaxSkillRequirements();
+      Set<SkillRequirement> view = requirements.asSet();
+      SkillRequirement agility = new SkillRequirement.Builder(Skill.AGILITY, 50).build();
+
+      assertThat(view, empty());
+      assertThat(requirements.isEmpty(), is(true));
+      assertThat(requirements.get(Skill.AGILITY), nullValue());
+
+      requirements.add(agility);
+
+      assertThat(view, contains(agility));
+      assertThat(view.size(), is(1));
+    }
+
+    @Test
+    void shouldOnlyContainHighestRequirement() {
+      MaxSkillRequirements requirements = new MaxSkillRequirements();
+      SkillRequirement lower = new SkillRequirement.Builder(Skill.SLAYER, 10).build();
+      SkillRequirement higher = new SkillRequirement.Builder(Skill.SLAYER, 60).build();
+
+      requirements.addAll(List.of(lower, higher));
+
+      assertThat(requirements.asSet().contains(higher), is(true));
+      assertThat(requirements.asSet().contains(lower), is(false));
+      assertThat(requirements.asSet().contains(new SkillRequirement.Builder().build()), is(false));
+      assertThat(requirements.asSet().contains(Skill.SLAYER), is(false));
+    }
+
+    @Test
+    void shouldBeUnmodifiable() {
+      MaxSkillRequirements requirements = new MaxSkillRequirements();
+      SkillRequirement requirement = new SkillRequirement.Builder(Skill.MINING, 10).build();
+
+      assertThrows(UnsupportedOperationException.class,
+          () -> requirements.asSet().add(requirement));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenIteratorExhausted() {
+      Iterator<SkillRequirement> iterator = new MaxSkillRequirements().asSet().iterator();
+
+      assertThat(iterator.hasNext(), is(false));
+      assertThrows(NoSuchElementException.class, iterator::next);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.darrenswhite.rs.ironquest.quest.requirement;
+
+import com.darrenswhite.rs.ironquest.player.Skill;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of {@link SkillRequirement#merge(java.util.Collection, java.util.Collection)} and
+ * accumulating into {@link MaxSkillRequirements} directly.
+ *
+ * @author Darren S. White
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkillRequirementBenchmark {
+
+  @Param({"5", "20"})
+  private int size;
+
+  private List<SkillRequirement> requirements;
+  private List<SkillRequirement> merge;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+
+    requirements = createRequirements(random);
+    merge = createRequirements(random);
+  }
+
+  @Benchmark
+  public Set<SkillRequirement> merge() {
+    return SkillRequirement.merge(requirements, merge);
+  }
+
+  @Benchmark
+  public MaxSkillRequirements accumulate() {
+    MaxSkillRequirements accumulated = new MaxSkillRequirements();
+
+    accumulated.addAll(requirements);
+    accumulated.addAll(merge);
+
+    return accumulated;
+  }
+
+  private List<SkillRequirement> createRequirements(Random random) {
+    Skill[] skills = Skill.values();
+    List<SkillRequirement> requirements = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      requirements.add(new SkillRequirement.Builder(skills[random.nextInt(skills.length)],
+          1 + random.nextInt(99)).build());
+    }
+
+    return requirements;
+  }
+}
@@ -1,6 +1,7 @@
 package com.darrenswhite.rs.ironquest.quest.requirement;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
 
@@ -79,6 +80,19 @@ class SkillRequirementTest {
               new SkillRequirement.Builder(Skill.STRENGTH, 30).build(),
               new SkillRequirement.Builder(Skill.DIVINATION, 30).build()));
     }
+
+    @Test
+    void shouldKeepOnlyHighestRequirementForRepeatedSkill() {
+      List<SkillRequirement> first = List
+          .of(new SkillRequirement.Builder(Skill.SUMMONING, 10).build());
+      List<SkillRequirement> second = List
+          .of(new SkillRequirement.Builder(Skill.SUMMONING, 30).build(),
+              new SkillRequirement.Builder(Skill.SUMMONING, 20).build());
+
+      Set<SkillRequirement> merged = SkillRequirement.merge(first, second);
+
+      assertThat(merged, contains(new SkillRequirement.Builder(Skill.SUMMONING, 30).build()));
+    }
   }
 
   @Nested